@@ -12,13 +12,18 @@ import cs3500.animator.model.ReadOnlyAnimatorModelImpl;
 import cs3500.animator.util.AnimationReader;
 import cs3500.animator.view.AnimatorView;
 import cs3500.animator.view.EditorView;
+import cs3500.animator.view.GIFView;
 import cs3500.animator.view.IEditorView;
+import cs3500.animator.view.PNGView;
 import cs3500.animator.view.SVGRotationView;
 import cs3500.animator.view.SVGView;
 import cs3500.animator.view.TextView;
 import cs3500.animator.view.VisualView;
+import cs3500.animator.view.Y4MView;
+import java.awt.GraphicsEnvironment;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.util.Arrays;
 import java.util.List;
@@ -32,12 +37,31 @@ import javax.swing.JOptionPane;
  * to System.out.
  *
  * <p>Views supported include:<ul> <li>"text"</li> <li>"visual"</li> <li>"svg"</li>
- * <li>"edit"</li><li>"svg-rotation"</li></ul>
+ * <li>"edit"</li><li>"svg-rotation"</li><li>"png"</li><li>"gif"</li>
+ * <li>"y4m"</li></ul>
+ *
+ * <p>The "png" view writes one image per tick, and uses the output as the directory or prefix of
+ * the image files instead of as a file to write to. The "gif" view writes one animated GIF,
+ * played at the given speed, to the output file. The "y4m" view streams uncompressed video to the
+ * output file or System.out, at the frames per second given by "-fps", which defaults to 30.
+ *
+ * <p>Errors are printed to System.err, and errors that stop the program exit with a non-zero
+ * status: 2 for missing or invalid arguments, such as a speed or frame rate that is not positive,
+ * and 1 for an animation that cannot be read, shown, or written. Only the "visual" and "edit"
+ * views load Swing and also show errors in a dialog, so every other view runs on machines without
+ * a display.
  */
 public final class Excellence {
 
   private static final List<String> viewNames = Arrays
-      .asList("text", "visual", "svg", "edit", "svg-rotation");
+      .asList("text", "visual", "svg", "edit", "svg-rotation", "png", "gif",
+          "y4m");
+
+  // the exit status when the arguments are missing or invalid
+  private static final int EXIT_USAGE = 2;
+
+  // the exit status when the animation cannot be read, shown, or written
+  private static final int EXIT_FAILURE = 1;
 
   /**
    * Main method to run an Excellence animation.
@@ -45,100 +69,153 @@ public final class Excellence {
    * @param args command line arguments
    */
   public static void main(String[] args) {
+    List<String> argList = Arrays.asList(args);
+    String viewName = argument(argList, "-view");
+    boolean interactive = "visual".equals(viewName) || "edit".equals(viewName);
+
     if (args.length == 0) {
-      showError("No arguments provided");
-      System.exit(0);
+      fail("No arguments provided", EXIT_USAGE, interactive);
     }
 
-    List<String> argList = Arrays.asList(args);
-
-    int inIndex = argList.indexOf("-in");
-    if (inIndex == -1) {
-      showError("Required input argument not found");
-      System.exit(0);
+    String input = argument(argList, "-in");
+    if (input == null) {
+      fail("Required input argument not found", EXIT_USAGE, interactive);
     }
-    String input = argList.get(inIndex + 1);
 
     FileReader file = null;
     try {
       file = new FileReader(input);
     } catch (FileNotFoundException e) {
-      showError(e.getMessage());
-      System.exit(0);
+      fail(e.getMessage(), EXIT_FAILURE, interactive);
     }
 
     int speed = 1;
-    if (argList.indexOf("-speed") != -1) {
+    if (argument(argList, "-speed") != null) {
       try {
-        speed = Integer.parseInt(argList.get(argList.indexOf("-speed") + 1));
+        speed = Integer.parseInt(argument(argList, "-speed"));
       } catch (NumberFormatException e) {
-        showError("Invalid speed value. Using default speed of 1");
+        showError("Invalid speed value. Using default speed of 1", interactive);
+      }
+      if (speed <= 0) {
+        fail("Speed must be positive", EXIT_USAGE, interactive);
       }
     }
 
+    int fps = 30;
+    if (argument(argList, "-fps") != null) {
+      try {
+        fps = Integer.parseInt(argument(argList, "-fps"));
+      } catch (NumberFormatException e) {
+        showError("Invalid fps value. Using default fps of 30", interactive);
+      }
+      if (fps <= 0) {
+        fail("Frames per second must be positive", EXIT_USAGE, interactive);
+      }
+    }
+
+    if (viewName == null) {
+      fail("Required view argument not found", EXIT_USAGE, interactive);
+    }
+    if (!viewNames.contains(viewName)) {
+      fail("Invalid view name", EXIT_USAGE, interactive);
+    }
+    if (interactive && GraphicsEnvironment.isHeadless()) {
+      fail("The " + viewName + " view needs a display", EXIT_FAILURE, interactive);
+    }
+    boolean images = viewName.equals("png") || viewName.equals("gif") || viewName.equals("y4m");
+
     Appendable output = System.out;
-    if (argList.indexOf("-out") != -1) {
+    String outputName = argument(argList, "-out");
+    if (outputName != null && !images) {
       try {
-        String outputName = argList.get(argList.indexOf("-out") + 1);
         output = new PrintWriter(outputName);
       } catch (FileNotFoundException e) {
-        showError("Output file not found. Using default output System.out");
+        showError("Output file not found. Using default output System.out", interactive);
       }
     }
 
-    if (file != null) {
-      int viewIndex = argList.indexOf("-view");
-      if (viewIndex == -1) {
-        showError("Required view argument not found");
-        System.exit(0);
-      }
-      String viewName = argList.get(viewIndex + 1);
-      if (viewNames.contains(viewName)) {
-
-        AnimatorController cont = null;
-
-        if (viewName.equals("edit") || viewName.equals("svg-rotation")) {
-          KeyframeModel.Builder builder = new KeyframeModel.Builder();
-          IKeyframeModel model = AnimationReader
-              .parseFile(file, builder);
-
-          if (viewName.equals("edit")) {
-            IEditorView view = (IEditorView) getView(viewName, new ReadOnlyAnimatorModelImpl(model),
-                speed);
-            cont = new EditorController(model, view, output);
-          } else {
-            ReadOnlyAnimatorModel readOnlyModel = new ReadOnlyAnimatorModelImpl(model);
-            AnimatorView view = getView(viewName, readOnlyModel, speed);
-            cont = new BasicAnimatorControllerImpl(readOnlyModel, view, output);
-          }
+    try {
+      AnimatorController cont = null;
 
+      if (viewName.equals("edit") || viewName.equals("svg-rotation")) {
+        KeyframeModel.Builder builder = new KeyframeModel.Builder();
+        IKeyframeModel model = AnimationReader
+            .parseFile(file, builder);
 
+        if (viewName.equals("edit")) {
+          IEditorView view = (IEditorView) getView(viewName, new ReadOnlyAnimatorModelImpl(model),
+              speed, fps, outputName);
+          cont = new EditorController(model, view, output);
         } else {
-          AnimatorModel model = AnimationReader
-              .parseFile(file, new AnimatorModelImpl.Builder());
-
           ReadOnlyAnimatorModel readOnlyModel = new ReadOnlyAnimatorModelImpl(model);
-          AnimatorView view = getView(viewName, readOnlyModel, speed);
-
+          AnimatorView view = getView(viewName, readOnlyModel, speed, fps, outputName);
           cont = new BasicAnimatorControllerImpl(readOnlyModel, view, output);
-
         }
 
-        cont.run();
+
       } else {
-        showError("Invalid view name");
+        AnimatorModel model = AnimationReader
+            .parseFile(file, new AnimatorModelImpl.Builder());
+
+        ReadOnlyAnimatorModel readOnlyModel = new ReadOnlyAnimatorModelImpl(model);
+        AnimatorView view = getView(viewName, readOnlyModel, speed, fps, outputName);
+
+        cont = new BasicAnimatorControllerImpl(readOnlyModel, view, output);
+
       }
 
+      cont.run();
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      fail(e.getMessage(), EXIT_FAILURE, interactive);
+    }
+
+    // print streams and writers do not throw, so failed writes are only found here
+    if (output instanceof PrintWriter && ((PrintWriter) output).checkError()
+        || output instanceof PrintStream && ((PrintStream) output).checkError()) {
+      fail("Cannot write output", EXIT_FAILURE, interactive);
+    }
+  }
+
+  // gets the argument that follows the given flag, or null if there is none
+  private static String argument(List<String> argList, String flag) {
+    int index = argList.indexOf(flag);
+    if (index == -1 || index + 1 >= argList.size()) {
+      return null;
     }
+    return argList.get(index + 1);
+  }
+
+  // shows the given error message, then exits with the given status
+  private static void fail(String error, int status, boolean interactive) {
+    showError(error, interactive);
+    System.exit(status);
   }
 
-  // shows the given error message
-  private static void showError(String error) {
-    JOptionPane.showMessageDialog(new JFrame(), error, "Error", JOptionPane.ERROR_MESSAGE);
+  // shows the given error message on System.err, and also in a dialog for the interactive views;
+  // everything else runs without loading AWT or Swing, so that it works on headless machines
+  private static void showError(String error, boolean interactive) {
+    System.err.println("Error: " + error);
+    if (interactive && !GraphicsEnvironment.isHeadless()) {
+      ErrorDialog.show(error);
+    }
+  }
+
+  /**
+   * Shows error messages in a dialog. Kept apart from {@link Excellence} so that Swing is only
+   * loaded when a dialog is shown.
+   */
+  private static final class ErrorDialog {
+
+    // shows the given error message in a dialog
+    private static void show(String error) {
+      JOptionPane.showMessageDialog(new JFrame(), error, "Error", JOptionPane.ERROR_MESSAGE);
+    }
   }
 
-  // factory method to create the specified view
-  private static AnimatorView getView(String viewName, ReadOnlyAnimatorModel model, int speed) {
+  // factory method to create the specified view, with the output name used by views that write
+  // files themselves
+  private static AnimatorView getView(String viewName, ReadOnlyAnimatorModel model, int speed,
+      int fps, String outputName) {
     switch (viewName) {
       case "text":
         return new TextView(model);
@@ -150,9 +227,14 @@ public final class Excellence {
         return new SVGRotationView(model, speed);
       case "edit":
         return getEditorView(model, speed);
+      case "png":
+        return new PNGView(model, outputName);
+      case "gif":
+        return new GIFView(model, speed, outputName);
+      case "y4m":
+        return new Y4MView(model, speed, fps, outputName);
       default:
-        showError("Invalid view name");
-        return null;
+        throw new IllegalArgumentException("Invalid view name");
     }
   }
 
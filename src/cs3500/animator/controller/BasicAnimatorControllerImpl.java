@@ -12,7 +12,7 @@ import java.util.Map;
 /**
  * Implementation of an {@link AnimatorController} that provides functionality to run an animation
  * with a specified model and view. Acts as an {@link ActionListener} for Java Swing events.
- * Currently supports textual, visual, and SVG views.
+ * Currently supports textual, visual, SVG, and image views.
  */
 public class BasicAnimatorControllerImpl implements AnimatorController, ActionListener {
 
@@ -48,20 +48,24 @@ public class BasicAnimatorControllerImpl implements AnimatorController, ActionLi
       view.makeVisible();
     } catch (UnsupportedOperationException uoe) {
       try {
-        String out = view.getAnimationState();
+        view.writeAnimationState(output);
 
         Flushable outputFlushable = (Flushable) output;
-        output.append(out);
         outputFlushable.flush();
       } catch (UnsupportedOperationException | IOException e1) {
         try {
-          String out = view.getSVG();
+          view.writeSVG(output);
 
           Flushable outputFlushable = (Flushable) output;
-          output.append(out);
           outputFlushable.flush();
         } catch (UnsupportedOperationException | IOException e2) {
-          throw new IllegalStateException("Cannot communicate with the view");
+          try {
+            view.writeFrames();
+          } catch (UnsupportedOperationException e3) {
+            throw new IllegalStateException("Cannot communicate with the view");
+          } catch (IOException e3) {
+            throw new IllegalStateException("Cannot write frames: " + e3.getMessage(), e3);
+          }
         }
       }
     }
@@ -5,20 +5,24 @@ import cs3500.animator.model.action.ActionImpl;
 import cs3500.animator.model.shapes.IColor;
 import cs3500.animator.model.shapes.IShape;
 import cs3500.animator.model.shapes.IPosition;
+import cs3500.animator.model.shapes.Position;
+import cs3500.animator.model.shapes.RGBColor;
+import cs3500.animator.model.shapes.ShapeState;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Abstract representation of an {@link AnimatorModel} that stores shapes and actions for the
- * shapes, and also canvas bounds information.
+ * shapes, and also canvas bounds information. The actions for each shape are stored in their own
+ * {@link ShapeTrack}, sorted by first tick value.
  */
 public abstract class AbstractAnimatorModel implements AnimatorModel {
 
-  protected final List<Action> actionList;
+  protected final Map<String, ShapeTrack> tracks;
   protected final Map<String, IShape> shapes;
 
 
@@ -29,12 +33,20 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
 
   protected final Map<String, List<String>> layers;
   protected final List<String> layerOrder;
+  protected final Map<String, String> shapeLayers;
+
+  // number of changes made to the shapes, actions, or layers, used by cursors to notice changes
+  protected int modCount;
+
+  // index over the timelines of the shapes in draw order, rebuilt when the model has changed
+  private TimelineIndex timeline;
+  private int timelineModCount;
 
   /**
    * Constructor to initialize the list of shapes and actions to empty lists.
    */
   AbstractAnimatorModel() {
-    this.actionList = new ArrayList<Action>();
+    this.tracks = new LinkedHashMap<>();
     this.shapes = new LinkedHashMap<>();
 
     leftX = AnimatorModel.DEFAULT_LEFT_X;
@@ -44,6 +56,7 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
 
     layers = new LinkedHashMap<>();
     layerOrder = new ArrayList<>();
+    shapeLayers = new HashMap<>();
     configureLayers();
   }
 
@@ -55,7 +68,7 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
    */
   AbstractAnimatorModel(int x, int y, int widthBound, int heightBound)
       throws IllegalArgumentException {
-    this.actionList = new ArrayList<>();
+    this.tracks = new LinkedHashMap<>();
     this.shapes = new LinkedHashMap<>();
 
     if (heightBound < 0 || widthBound < 0) {
@@ -68,6 +81,7 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
 
     layers = new LinkedHashMap<>();
     layerOrder = new ArrayList<>();
+    shapeLayers = new HashMap<>();
     configureLayers();
   }
 
@@ -86,6 +100,7 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
     }
     layers.put(layerName, new ArrayList<>());
     layerOrder.add(layerName);
+    modCount++;
   }
 
   @Override
@@ -96,12 +111,14 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
     if (!layers.keySet().contains(layerName)) {
       throw new IllegalArgumentException("Layer does not exist");
     }
-    List<String> namesInLayer = layers.get(layerName);
+    List<String> namesInLayer = layers.remove(layerName);
     for (String shapeName : namesInLayer) {
-      removeShapeHelper(shapeName);
+      shapes.remove(shapeName);
+      tracks.remove(shapeName);
+      shapeLayers.remove(shapeName);
     }
-    layers.remove(layerName);
     layerOrder.remove(layerName);
+    modCount++;
   }
 
   @Override
@@ -115,6 +132,7 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
     }
 
     Collections.swap(layerOrder, layerOrder.indexOf(layer1), layerOrder.indexOf(layer2));
+    modCount++;
   }
 
   @Override
@@ -128,6 +146,17 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
     return new ArrayList<>(layerOrder);
   }
 
+  @Override
+  public List<String> getLayerShapes(String layerName) throws IllegalArgumentException {
+    if (layerName == null) {
+      throw new IllegalArgumentException("Layer name cannot be null");
+    }
+    if (!layers.keySet().contains(layerName)) {
+      throw new IllegalArgumentException("Layer does not exist");
+    }
+    return new ArrayList<>(layers.get(layerName));
+  }
+
   private String getLayerHelper(String shapeName) {
     if (shapeName == null) {
       throw new IllegalArgumentException("Shape name cannot be null");
@@ -135,50 +164,219 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
     if (shapes.get(shapeName) == null) {
       throw new IllegalArgumentException("Shape not found");
     }
-    for (Map.Entry<String, List<String>> entry : layers.entrySet()) {
+    String layerName = shapeLayers.get(shapeName);
+    if (layerName == null) {
+      throw new IllegalStateException("Layer not found");
+    }
+    return layerName;
+  }
+
+  @Override
+  public IShape shapeAt(String name, int tick) {
+    if (name == null || shapes.get(name) == null || tick < 0) {
+      throw new IllegalArgumentException("Invalid arguments");
+    }
+
+    double[] state = new double[ShapeTrack.STATE_SIZE];
+    ShapeTrack track = tracks.get(name);
+    boolean visible = stateAt(track, tick, track.lowerBound(tick), state, 0);
+    return shapeFromState(shapes.get(name), state, visible);
+  }
+
+  @Override
+  public ShapeState shapeStateAt(String name, int tick) {
+    if (name == null || shapes.get(name) == null || tick < 0) {
+      throw new IllegalArgumentException("Invalid arguments");
+    }
 
-      String layerName = entry.getKey();
+    double[] state = new double[ShapeTrack.STATE_SIZE];
+    ShapeTrack track = tracks.get(name);
+    boolean visible = stateAt(track, tick, track.lowerBound(tick), state, 0);
+    return stateFromArray(shapes.get(name).toString(), state, visible);
+  }
+
+  @Override
+  public void frameAt(int tick, Frame frame) throws IllegalArgumentException {
+    if (frame == null || tick < 0) {
+      throw new IllegalArgumentException("Invalid arguments");
+    }
 
-      for (String name : entry.getValue()) {
-        if (name.equals(shapeName)) {
-          return layerName;
+    frame.clear(tick);
+    int shape = 0;
+    for (String layerName : layerOrder) {
+      frame.beginLayer(layerName);
+      for (String name : layers.get(layerName)) {
+        ShapeTrack track = tracks.get(name);
+        int offset = frame.nextOffset();
+        if (stateAt(track, tick, track.lowerBound(tick), frame.values(), offset)) {
+          frame.commit(name, shapes.get(name).toString(), shape);
         }
+        shape++;
       }
     }
-    throw new IllegalStateException("Layer not found");
   }
 
+  @Override
+  public List<String> getVisibleShapes(int tick) throws IllegalArgumentException {
+    if (tick < 0) {
+      throw new IllegalArgumentException("Invalid tick value");
+    }
+    TimelineIndex index = timeline();
+    int[] found = new int[index.size()];
+    return shapeNames(index, found, index.visibleAt(tick, found));
+  }
 
   @Override
-  public IShape shapeAt(String name, int tick) {
-    if (name == null || shapes.get(name) == null || tick < 0) {
-      throw new IllegalArgumentException("Invalid arguments");
+  public List<String> getMovingShapes(int tick) throws IllegalArgumentException {
+    if (tick < 0) {
+      throw new IllegalArgumentException("Invalid tick value");
     }
+    return getChangedShapes(Math.max(0, tick - 1), tick);
+  }
 
-    IShape startingShape = shapes.get(name).copy();
-
-    for (Action a : actionList) {
-      if (a.getShapeName().equals(name)) {
-
-        if (a.getFirstTick() < tick) {
-          if (a.getFinalTick() < tick) {
-            // execute the whole action on the shape
-            Action action = new ActionImpl(name, startingShape, a.getFirstTick(), a.getFinalTick(),
-                a.getToPosition(), a.getToWidth(), a.getToHeight(),
-                a.getToColor());
-            action.execute();
-          } else {
-            // execute the action only up until "tick"
-            Action action = new ActionImpl(name, startingShape, a.getFirstTick(), a.getFinalTick(),
-                a.getToPosition(), a.getToWidth(), a.getToHeight(),
-                a.getToColor());
-            action.tickExecute(tick);
-          }
-        }
+  @Override
+  public List<String> getChangedShapes(int fromTick, int toTick)
+      throws IllegalArgumentException {
+    if (fromTick < 0 || toTick < fromTick) {
+      throw new IllegalArgumentException("Invalid tick values");
+    }
+    TimelineIndex index = timeline();
+    int[] found = new int[index.size()];
+    boolean[] marks = new boolean[index.size()];
+    return shapeNames(index, found, index.changedBetween(fromTick, toTick, found, marks));
+  }
+
+  // gets the names of the shapes at the given indices in draw order
+  private static List<String> shapeNames(TimelineIndex index, int[] indices, int count) {
+    List<String> names = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      names.add(index.getName(indices[i]));
+    }
+    return names;
+  }
 
+  /**
+   * Gets an index over the timelines of the shapes of this model, with shapes numbered in draw
+   * order. The index is built the first time it is needed after each change to the model. Building
+   * is synchronized, so that threads reading an unchanged model all get the same fully built index,
+   * which they can then query at the same time.
+   *
+   * @return the timeline index
+   */
+  synchronized TimelineIndex timeline() {
+    if (timeline == null || timelineModCount != modCount) {
+      List<String> names = new ArrayList<>();
+      for (String layerName : layerOrder) {
+        names.addAll(layers.get(layerName));
+      }
+      int size = names.size();
+      int[] visibleFrom = new int[size];
+      int[][] changes = new int[size][];
+      for (int i = 0; i < size; i++) {
+        ShapeTrack track = tracks.get(names.get(i));
+        visibleFrom[i] = visibleFrom(track);
+        changes[i] = changes(track);
       }
+      timeline = new TimelineIndex(names.toArray(new String[0]), visibleFrom, changes);
+      timelineModCount = modCount;
     }
-    return startingShape;
+    return timeline;
+  }
+
+  @Override
+  public PlaybackCursor cursor() {
+    return new PlaybackCursor(this);
+  }
+
+  /**
+   * Computes the state of a shape at the given tick from its track, writing the properties into
+   * the given array. Uses the motion interpretation of the track by default.
+   *
+   * @param track  the track of the shape
+   * @param tick   the tick value
+   * @param count  the number of actions in the track starting before the tick
+   * @param state  the array to write the state of the shape into
+   * @param offset the index in the array to start writing at
+   * @return the visibility of the shape at the given tick
+   */
+  protected boolean stateAt(ShapeTrack track, int tick, int count, double[] state, int offset) {
+    return track.motionStateAt(tick, count, state, offset);
+  }
+
+  /**
+   * Computes the state of a shape at a point that may lie between two whole ticks, as used for
+   * smooth playback. Uses the motion interpretation of the track by default, which gives the same
+   * state as {@link #stateAt} at whole ticks.
+   *
+   * @param track  the track of the shape
+   * @param tick   the point in time, in ticks
+   * @param count  the number of actions in the track starting before the point
+   * @param state  the array to write the state of the shape into
+   * @param offset the index in the array to start writing at
+   * @return the visibility of the shape at the given point
+   */
+  protected boolean stateBetween(ShapeTrack track, double tick, int count, double[] state,
+      int offset) {
+    return track.motionStateAt(tick, count, state, offset);
+  }
+
+  /**
+   * Gets the first tick at which the shape with the given track is visible. Uses the motion
+   * interpretation of the track by default, and must agree with {@link #stateAt}.
+   *
+   * @param track the track of the shape
+   * @return the first visible tick, {@link Integer#MIN_VALUE} if the shape is always visible, or
+   *         {@link Integer#MAX_VALUE} if it never is
+   */
+  protected int visibleFrom(ShapeTrack track) {
+    return track.motionVisibleFrom();
+  }
+
+  /**
+   * Gets the ticks at which the shape with the given track may look different than at the tick
+   * before. Uses the motion interpretation of the track by default, and must agree with {@link
+   * #stateAt}.
+   *
+   * @param track the track of the shape
+   * @return the first and last tick of each interval of change, one after another
+   */
+  protected int[] changes(ShapeTrack track) {
+    return track.motionChanges();
+  }
+
+  /**
+   * Creates a copy of the given shape with the properties described by the given state array.
+   *
+   * @param shape   the shape to copy
+   * @param state   the state of the shape, laid out as described by {@link ShapeTrack}
+   * @param visible the visibility of the shape
+   * @return the new shape
+   */
+  protected static IShape shapeFromState(IShape shape, double[] state, boolean visible) {
+    IShape result = shape.copy();
+    result.move(new Position(state[ShapeTrack.X], state[ShapeTrack.Y]));
+    result.grow(state[ShapeTrack.WIDTH] - result.getWidth(),
+        state[ShapeTrack.HEIGHT] - result.getHeight());
+    result.changeColor(
+        new RGBColor(state[ShapeTrack.RED], state[ShapeTrack.GREEN], state[ShapeTrack.BLUE]));
+    result.rotateTo((int) state[ShapeTrack.ROTATION]);
+    result.setVisibility(visible);
+    return result;
+  }
+
+  /**
+   * Creates an immutable shape state with the properties described by the given state array.
+   *
+   * @param type    the type of the shape
+   * @param state   the state of the shape, laid out as described by {@link ShapeTrack}
+   * @param visible the visibility of the shape
+   * @return the new shape state
+   */
+  protected static ShapeState stateFromArray(String type, double[] state, boolean visible) {
+    return new ShapeState(type, state[ShapeTrack.X], state[ShapeTrack.Y],
+        state[ShapeTrack.WIDTH], state[ShapeTrack.HEIGHT], state[ShapeTrack.RED],
+        state[ShapeTrack.GREEN], state[ShapeTrack.BLUE], (int) state[ShapeTrack.ROTATION],
+        visible);
   }
 
   @Override
@@ -201,7 +399,10 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
     }
 
     shapes.put(name, shape.copy());
+    tracks.put(name, new ShapeTrack(shape));
     layers.get(layer).add(name);
+    shapeLayers.put(name, layer);
+    modCount++;
   }
 
   @Override
@@ -244,37 +445,101 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
         toColor);
 
     this.validateAction(action);
+    addValidatedAction(action, 0);
+  }
 
-    actionList.add(action);
-    actionList.sort(Comparator.comparingInt(Action::getFirstTick));
+  /**
+   * Adds the given action to the timeline of its shape without checking it for conflicts. Used
+   * once the action has already been checked, e.g. by {@link #validateActions(List)}.
+   *
+   * @param action  the action to add, for a shape in this model
+   * @param degrees the rotation of the shape at the end of the action
+   */
+  protected void addValidatedAction(Action action, int degrees) {
+    tracks.get(action.getShapeName()).add(action, degrees);
+    modCount++;
   }
 
+  /**
+   * Checks that the given action does not conflict with the actions of its shape.
+   *
+   * @param action the action to check
+   * @throws IllegalArgumentException if the action conflicts with a previous action
+   */
   protected void validateAction(Action action) throws IllegalArgumentException {
-    List<Action> sameShapeActions = new ArrayList<>();
+    ShapeTrack track = tracks.get(action.getShapeName());
+    if (track == null) {
+      return;
+    }
 
-    for (Action a : actionList) {
-      if (a.getShapeName().equals(action.getShapeName())) {
-        sameShapeActions.add(a);
-      }
+    if (conflicts(track, action)) {
+      throw new IllegalArgumentException("Conflicts with previous action");
     }
+  }
 
-    if (sameShapeActions.size() == 0) {
-      return;
-    } else {
-      for (Action a : sameShapeActions) {
+  /**
+   * Checks that none of the given actions conflict with each other or with the actions already in
+   * this model, sweeping the timeline of each shape once. Used to check every action of a file
+   * before any of them are added.
+   *
+   * @param actions the actions to check
+   * @throws IllegalArgumentException if the list is null, or contains an action for an unknown
+   *                                  shape
+   * @throws IllegalArgumentException if any two of the actions conflict
+   */
+  protected void validateActions(List<Action> actions) throws IllegalArgumentException {
+    if (actions == null) {
+      throw new IllegalArgumentException("Actions cannot be null");
+    }
 
-        if (a.conflictsWith(action)) {
-          throw new IllegalArgumentException("Conflicts with previous action");
-        }
+    Map<String, List<Action>> shapeActions = new LinkedHashMap<>();
+    for (Action action : actions) {
+      if (tracks.get(action.getShapeName()) == null) {
+        throw new IllegalArgumentException("Invalid shape");
+      }
+      shapeActions.computeIfAbsent(action.getShapeName(), name -> new ArrayList<>()).add(action);
+    }
 
+    for (Map.Entry<String, List<Action>> entry : shapeActions.entrySet()) {
+      if (conflicts(tracks.get(entry.getKey()), entry.getValue())) {
+        throw new IllegalArgumentException("Conflicts with previous action");
       }
     }
   }
 
+  /**
+   * Determines if the given action conflicts with an action in the given track. Two motions
+   * conflict if they overlap in time and change the same property of the shape.
+   *
+   * @param track  the track of the shape
+   * @param action the action to check
+   * @return true if there is a conflict
+   */
+  protected boolean conflicts(ShapeTrack track, Action action) {
+    return track.motionConflicts(action);
+  }
+
+  /**
+   * Determines if any of the given actions conflict with each other or with an action in the given
+   * track.
+   *
+   * @param track   the track of the shape
+   * @param actions the actions to check, all for the shape of the track
+   * @return true if there is a conflict
+   */
+  protected boolean conflicts(ShapeTrack track, List<Action> actions) {
+    return track.motionsConflict(actions);
+  }
+
   @Override
   public void reset() {
-    this.actionList.clear();
+    this.tracks.clear();
     this.shapes.clear();
+    this.shapeLayers.clear();
+    for (List<String> namesInLayer : layers.values()) {
+      namesInLayer.clear();
+    }
+    modCount++;
   }
 
   @Override
@@ -309,8 +574,8 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
   @Override
   public int getFinalTick() {
     int maxTick = 0;
-    for (Action a : actionList) {
-      maxTick = Math.max(maxTick, a.getFinalTick());
+    for (ShapeTrack track : tracks.values()) {
+      maxTick = Math.max(maxTick, track.getFinalTick());
     }
     return maxTick;
   }
@@ -321,14 +586,80 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
     if (shapeName == null) {
       throw new IllegalArgumentException("Shape name cannot be null");
     }
-    List<Action> list = new ArrayList<>();
+    ShapeTrack track = tracks.get(shapeName);
+    List<Action> actions = new ArrayList<>();
+    if (track == null) {
+      return actions;
+    }
+    for (int i = 0; i < track.size(); i++) {
+      actions.add(actionAt(shapeName, track, i));
+    }
+    return actions;
+  }
 
-    for (Action a : actionList) {
-      if (a.getShapeName().equals(shapeName)) {
-        list.add(a);
-      }
+  /**
+   * Creates an action from the properties stored at the given index of the given track. Tracks
+   * only store the properties of their actions, so this is how callers get {@link Action}s.
+   *
+   * @param shapeName the name of the shape
+   * @param track     the track of the shape
+   * @param index     the index of the action in the track
+   * @return the action
+   */
+  protected Action actionAt(String shapeName, ShapeTrack track, int index) {
+    return new ActionImpl(shapeName, shapes.get(shapeName), track.getFirstTick(index),
+        track.getFinalTick(index), positionAt(track, index),
+        track.getValue(index, ShapeTrack.WIDTH), track.getValue(index, ShapeTrack.HEIGHT),
+        colorAt(track, index));
+  }
+
+  /**
+   * Gets the ending position of the action at the given index of the given track.
+   *
+   * @param track the track
+   * @param index the index of the action in the track
+   * @return the position
+   */
+  protected static IPosition positionAt(ShapeTrack track, int index) {
+    return new Position(track.getValue(index, ShapeTrack.X), track.getValue(index, ShapeTrack.Y));
+  }
+
+  /**
+   * Gets the ending color of the action at the given index of the given track.
+   *
+   * @param track the track
+   * @param index the index of the action in the track
+   * @return the color
+   */
+  protected static IColor colorAt(ShapeTrack track, int index) {
+    return new RGBColor(track.getValue(index, ShapeTrack.RED),
+        track.getValue(index, ShapeTrack.GREEN), track.getValue(index, ShapeTrack.BLUE));
+  }
+
+  @Override
+  public List<ShapeState> getShapeActionStates(String shapeName)
+      throws IllegalArgumentException {
+    if (shapeName == null || shapes.get(shapeName) == null) {
+      throw new IllegalArgumentException("Invalid arguments");
     }
-    return list;
+
+    String type = shapes.get(shapeName).toString();
+    ShapeTrack track = tracks.get(shapeName);
+    List<ShapeState> states = new ArrayList<>();
+    double[] state = new double[ShapeTrack.STATE_SIZE];
+    int count = 0;
+    for (int i = 0; i < track.size(); i++) {
+      // first ticks are sorted, so the previous position is a close hint
+      int tick = track.getFirstTick(i);
+      count = track.lowerBound(tick, count);
+      boolean visible = stateAt(track, tick, count, state, 0);
+      states.add(stateFromArray(type, state, visible));
+
+      tick = track.getFinalTick(i);
+      visible = stateAt(track, tick, track.lowerBound(tick), state, 0);
+      states.add(stateFromArray(type, state, visible));
+    }
+    return states;
   }
 
   @Override
@@ -341,13 +672,11 @@ public abstract class AbstractAnimatorModel implements AnimatorModel {
 
   private void removeShapeHelper(String shapeName) {
     shapes.remove(shapeName);
-    List<Action> list = new ArrayList<>();
-
-    for (Action a : actionList) {
-      if (a.getShapeName().equals(shapeName)) {
-        list.add(a);
-      }
+    tracks.remove(shapeName);
+    String layerName = shapeLayers.remove(shapeName);
+    if (layerName != null) {
+      layers.get(layerName).remove(shapeName);
     }
-    actionList.removeAll(list);
+    modCount++;
   }
 }
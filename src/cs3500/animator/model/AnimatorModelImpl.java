@@ -10,6 +10,7 @@ import cs3500.animator.model.shapes.Rectangle;
 import cs3500.animator.util.AnimationBuilder;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,7 +54,7 @@ public class AnimatorModelImpl extends AbstractAnimatorModel {
     private int heightBound;
 
     private final Map<String, IShape> shapes;
-    private final List<Action> actionListBeginningConditions;
+    private final Map<String, Action> beginningConditions;
     private final List<Action> actionList;
 
     private final Map<String, List<String>> layers;
@@ -69,14 +70,14 @@ public class AnimatorModelImpl extends AbstractAnimatorModel {
       this.heightBound = AnimatorModel.DEFAULT_HEIGHT_BOUND;
       this.shapes = new LinkedHashMap<>();
       this.actionList = new ArrayList<>();
-      this.actionListBeginningConditions = new ArrayList<>();
+      this.beginningConditions = new HashMap<>();
       this.layers = new LinkedHashMap<>();
       layers.put("default", new ArrayList<>());
     }
 
     @Override
     public AnimatorModel build() {
-      AnimatorModel model = new AnimatorModelImpl(leftX, topY, widthBound, heightBound);
+      AnimatorModelImpl model = new AnimatorModelImpl(leftX, topY, widthBound, heightBound);
 
       for (String layerName : layers.keySet()) {
         if (!layerName.equals("default")) {
@@ -88,21 +89,22 @@ public class AnimatorModelImpl extends AbstractAnimatorModel {
         String layerName = entry.getKey();
 
         for (String name : entry.getValue()) {
-          for (Action a : actionListBeginningConditions) {
-            if (a.getShapeName().equals(name)) {
-              shapes.get(name).move(a.getToPosition());
-              shapes.get(name).changeColor(a.getToColor());
-              shapes.get(name).grow(a.getToWidth(), a.getToHeight());
-              break;
-            }
+          Action a = beginningConditions.get(name);
+          if (a != null) {
+            shapes.get(name).move(a.getToPosition());
+            shapes.get(name).changeColor(a.getToColor());
+            shapes.get(name).grow(a.getToWidth(), a.getToHeight());
           }
           model.createShape(name, shapes.get(name), layerName);
         }
       }
 
+      // checked all at once and sorted once here, so that every action is added to the end of its
+      // shape's timeline without being checked again
+      model.validateActions(actionList);
+      actionList.sort(Comparator.comparingInt(Action::getFirstTick));
       for (Action a : actionList) {
-        model.addMotion(a.getShapeName(), a.getFirstTick(), a.getFinalTick(), a.getToPosition(),
-            a.getToWidth(), a.getToHeight(), a.getToColor());
+        model.addValidatedAction(a, 0);
       }
 
       return model;
@@ -156,12 +158,13 @@ public class AnimatorModelImpl extends AbstractAnimatorModel {
       Action a = new ActionImpl(name, shapes.get(name), t1, t2, new Position(x2, y2), w2, h2,
           new RGBColor(r2, g2, b2));
       actionList.add(a);
-      actionList.sort(Comparator.comparingInt(Action::getFirstTick));
 
       Action aStarting = new ActionImpl(name, shapes.get(name), t1, t2, new Position(x1, y1), w1,
           h1, new RGBColor(r1, g1, b1));
-      actionListBeginningConditions.add(aStarting);
-      actionListBeginningConditions.sort(Comparator.comparingInt(Action::getFirstTick));
+      Action earliest = beginningConditions.get(name);
+      if (earliest == null || aStarting.getFirstTick() < earliest.getFirstTick()) {
+        beginningConditions.put(name, aStarting);
+      }
 
       return this;
     }
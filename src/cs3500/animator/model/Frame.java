@@ -0,0 +1,424 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.shapes.PackedColor;
+import java.util.Arrays;
+
+/**
+ * Represents the resolved state of every visible shape of an animation at a single tick, in the
+ * order the shapes should be drawn (by layer order). A frame is a reusable buffer: filling it
+ * again with {@link ReadOnlyAnimatorModel#frameAt} overwrites the previous contents, and the
+ * properties of the shapes are stored in primitive arrays so that reading them does not allocate.
+ *
+ * <p>A frame also records which shapes belong to which layer, so that a view can tell whether a
+ * layer looks the same as it did in another frame.
+ */
+public final class Frame {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int size;
+  private int tick;
+  private double position;
+  private String[] names;
+  private String[] types;
+  private int[] shapes;
+  private double[] values;
+  private int layerCount;
+  private String[] layerNames;
+  private int[] layerStarts;
+
+  /**
+   * Constructs an empty frame.
+   */
+  public Frame() {
+    this.size = 0;
+    this.tick = 0;
+    this.position = 0;
+    this.names = new String[INITIAL_CAPACITY];
+    this.types = new String[INITIAL_CAPACITY];
+    this.shapes = new int[INITIAL_CAPACITY];
+    this.values = new double[INITIAL_CAPACITY * ShapeTrack.STATE_SIZE];
+    this.layerCount = 0;
+    this.layerNames = new String[INITIAL_CAPACITY];
+    this.layerStarts = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Gets the number of visible shapes in this frame.
+   *
+   * @return the number of shapes
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the tick value this frame was last filled for.
+   *
+   * @return the tick value
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Gets the point in time this frame was last filled for, in ticks. This is the same as {@link
+   * #getTick()} unless the frame was filled for a point between two whole ticks, in which case
+   * {@link #getTick()} is the whole tick before it.
+   *
+   * @return the point in time
+   */
+  public double getPosition() {
+    return position;
+  }
+
+  /**
+   * Determines if this frame was filled for a point between two whole ticks.
+   *
+   * @return true if the frame is between ticks
+   */
+  public boolean isBetweenTicks() {
+    return position != tick;
+  }
+
+  /**
+   * Gets the name of the shape at the given index.
+   *
+   * @param index the draw order index of the shape
+   * @return the shape name
+   */
+  public String getName(int index) {
+    return names[checkIndex(index)];
+  }
+
+  /**
+   * Gets the type of the shape at the given index (e.g. "rectangle", "ellipse").
+   *
+   * @param index the draw order index of the shape
+   * @return the shape type
+   */
+  public String getType(int index) {
+    return types[checkIndex(index)];
+  }
+
+  /**
+   * Gets the x-value of the position of the shape at the given index.
+   *
+   * @param index the draw order index of the shape
+   * @return x value
+   */
+  public double getX(int index) {
+    return value(index, ShapeTrack.X);
+  }
+
+  /**
+   * Gets the y-value of the position of the shape at the given index.
+   *
+   * @param index the draw order index of the shape
+   * @return y value
+   */
+  public double getY(int index) {
+    return value(index, ShapeTrack.Y);
+  }
+
+  /**
+   * Gets the width of the shape at the given index.
+   *
+   * @param index the draw order index of the shape
+   * @return the width
+   */
+  public double getWidth(int index) {
+    return value(index, ShapeTrack.WIDTH);
+  }
+
+  /**
+   * Gets the height of the shape at the given index.
+   *
+   * @param index the draw order index of the shape
+   * @return the height
+   */
+  public double getHeight(int index) {
+    return value(index, ShapeTrack.HEIGHT);
+  }
+
+  /**
+   * Gets the red intensity of the shape at the given index as a value from 0-255 inclusive.
+   *
+   * @param index the draw order index of the shape
+   * @return the red intensity
+   */
+  public double getRed(int index) {
+    return value(index, ShapeTrack.RED);
+  }
+
+  /**
+   * Gets the green intensity of the shape at the given index as a value from 0-255 inclusive.
+   *
+   * @param index the draw order index of the shape
+   * @return the green intensity
+   */
+  public double getGreen(int index) {
+    return value(index, ShapeTrack.GREEN);
+  }
+
+  /**
+   * Gets the blue intensity of the shape at the given index as a value from 0-255 inclusive.
+   *
+   * @param index the draw order index of the shape
+   * @return the blue intensity
+   */
+  public double getBlue(int index) {
+    return value(index, ShapeTrack.BLUE);
+  }
+
+  /**
+   * Gets the color of the shape at the given index packed into a single int, as described by
+   * {@link PackedColor}. The fractional part of each intensity is dropped.
+   *
+   * @param index the draw order index of the shape
+   * @return the packed color
+   */
+  public int getColor(int index) {
+    int offset = checkIndex(index) * ShapeTrack.STATE_SIZE;
+    return PackedColor.pack(values[offset + ShapeTrack.RED], values[offset + ShapeTrack.GREEN],
+        values[offset + ShapeTrack.BLUE]);
+  }
+
+  /**
+   * Gets the rotation of the shape at the given index.
+   *
+   * @param index the draw order index of the shape
+   * @return the rotation in degrees
+   */
+  public int getRotation(int index) {
+    return (int) value(index, ShapeTrack.ROTATION);
+  }
+
+  /**
+   * Gets the number of layers in this frame, including layers with no visible shapes.
+   *
+   * @return the number of layers
+   */
+  public int layerCount() {
+    return layerCount;
+  }
+
+  /**
+   * Gets the name of the layer at the given index.
+   *
+   * @param layer the draw order index of the layer
+   * @return the layer name
+   */
+  public String getLayerName(int layer) {
+    return layerNames[checkLayer(layer)];
+  }
+
+  /**
+   * Gets the index of the first shape of the layer at the given index.
+   *
+   * @param layer the draw order index of the layer
+   * @return the index of the first shape in the layer
+   */
+  public int getLayerStart(int layer) {
+    return layerStarts[checkLayer(layer)];
+  }
+
+  /**
+   * Gets the index one past the last shape of the layer at the given index.
+   *
+   * @param layer the draw order index of the layer
+   * @return the index after the last shape in the layer
+   */
+  public int getLayerEnd(int layer) {
+    return checkLayer(layer) + 1 < layerCount ? layerStarts[layer + 1] : size;
+  }
+
+  /**
+   * Determines if the given frame has the same layers as this frame, in the same order.
+   *
+   * @param other the other frame
+   * @return true if the layer names are the same
+   * @throws IllegalArgumentException if the other frame is null
+   */
+  public boolean sameLayers(Frame other) throws IllegalArgumentException {
+    if (other == null) {
+      throw new IllegalArgumentException("Frame cannot be null");
+    }
+    if (other.layerCount != this.layerCount) {
+      return false;
+    }
+    for (int i = 0; i < layerCount; i++) {
+      if (!other.layerNames[i].equals(this.layerNames[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Determines if the layer at the given index looks the same in both frames: it has the same
+   * shapes in the same order, and every shape has the same type and properties.
+   *
+   * @param layer the draw order index of the layer in both frames
+   * @param other the other frame
+   * @return true if the layer is drawn the same in both frames
+   * @throws IllegalArgumentException if the other frame is null
+   */
+  public boolean sameLayer(int layer, Frame other) throws IllegalArgumentException {
+    if (other == null) {
+      throw new IllegalArgumentException("Frame cannot be null");
+    }
+    if (layer < 0 || layer >= other.layerCount
+        || !other.layerNames[layer].equals(getLayerName(layer))) {
+      return false;
+    }
+    int start = getLayerStart(layer);
+    int end = getLayerEnd(layer);
+    if (other.getLayerStart(layer) != start || other.getLayerEnd(layer) != end) {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      if (!other.names[i].equals(names[i]) || !other.types[i].equals(types[i])) {
+        return false;
+      }
+    }
+    return Arrays.equals(values, start * ShapeTrack.STATE_SIZE, end * ShapeTrack.STATE_SIZE,
+        other.values, start * ShapeTrack.STATE_SIZE, end * ShapeTrack.STATE_SIZE);
+  }
+
+  /**
+   * Determines if the shape at the given index of this frame looks the same as the shape at the
+   * other index of the given frame: it has the same name and type, and the same properties.
+   *
+   * @param index      the draw order index of the shape in this frame
+   * @param other      the other frame
+   * @param otherIndex the draw order index of the shape in the other frame
+   * @return true if the shapes are drawn the same
+   * @throws IllegalArgumentException if the other frame is null
+   */
+  public boolean sameShape(int index, Frame other, int otherIndex)
+      throws IllegalArgumentException {
+    if (other == null) {
+      throw new IllegalArgumentException("Frame cannot be null");
+    }
+    if (!other.names[other.checkIndex(otherIndex)].equals(names[checkIndex(index)])
+        || !other.types[otherIndex].equals(types[index])) {
+      return false;
+    }
+    return Arrays.equals(values, index * ShapeTrack.STATE_SIZE,
+        (index + 1) * ShapeTrack.STATE_SIZE, other.values, otherIndex * ShapeTrack.STATE_SIZE,
+        (otherIndex + 1) * ShapeTrack.STATE_SIZE);
+  }
+
+  /**
+   * Empties this frame so that it can be filled for the given tick.
+   *
+   * @param tick the tick value
+   */
+  void clear(int tick) {
+    clear(tick, tick);
+  }
+
+  /**
+   * Empties this frame so that it can be filled for the given point in time, which may lie
+   * between two whole ticks.
+   *
+   * @param tick     the whole tick at or before the point
+   * @param position the point in time, in ticks
+   */
+  void clear(int tick, double position) {
+    this.size = 0;
+    this.tick = tick;
+    this.position = position;
+    this.layerCount = 0;
+  }
+
+  /**
+   * Starts a new layer, so that the shapes committed after this call belong to it.
+   *
+   * @param name the name of the layer
+   */
+  void beginLayer(String name) {
+    if (layerCount == layerNames.length) {
+      int capacity = layerCount * 2;
+      layerNames = Arrays.copyOf(layerNames, capacity);
+      layerStarts = Arrays.copyOf(layerStarts, capacity);
+    }
+    layerNames[layerCount] = name;
+    layerStarts[layerCount] = size;
+    layerCount++;
+  }
+
+  /**
+   * Makes room for one more shape at the end of this frame, and returns the index in the value
+   * array that the state of that shape should be written to. The shape is only kept if {@link
+   * #commit} is called afterwards.
+   *
+   * @return the offset to write the state of the next shape at
+   */
+  int nextOffset() {
+    if (size == names.length) {
+      int capacity = size * 2;
+      names = Arrays.copyOf(names, capacity);
+      types = Arrays.copyOf(types, capacity);
+      shapes = Arrays.copyOf(shapes, capacity);
+      values = Arrays.copyOf(values, capacity * ShapeTrack.STATE_SIZE);
+    }
+    return size * ShapeTrack.STATE_SIZE;
+  }
+
+  /**
+   * Keeps the shape whose state was written at {@link #nextOffset()}.
+   *
+   * @param name  the name of the shape
+   * @param type  the type of the shape
+   * @param shape the index of the shape in draw order among every shape of the model
+   */
+  void commit(String name, String type, int shape) {
+    names[size] = name;
+    types[size] = type;
+    shapes[size] = shape;
+    size++;
+  }
+
+  /**
+   * Finds the shape with the given index in draw order among every shape of the model.
+   *
+   * @param shape the index of the shape among every shape of the model
+   * @return the draw order index of the shape in this frame, or -1 if it is not in this frame
+   */
+  int indexOf(int shape) {
+    int index = Arrays.binarySearch(shapes, 0, size, shape);
+    return index < 0 ? -1 : index;
+  }
+
+  /**
+   * Gets the array that shape states are written to.
+   *
+   * @return the value array
+   */
+  double[] values() {
+    return values;
+  }
+
+  // gets the given property of the shape at the given index
+  private double value(int index, int property) {
+    return values[checkIndex(index) * ShapeTrack.STATE_SIZE + property];
+  }
+
+  // throws an exception if the given index is not a layer in this frame
+  private int checkLayer(int layer) {
+    if (layer < 0 || layer >= layerCount) {
+      throw new IndexOutOfBoundsException("Invalid layer index");
+    }
+    return layer;
+  }
+
+  // throws an exception if the given index is not a shape in this frame
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Invalid shape index");
+    }
+    return index;
+  }
+}
@@ -12,6 +12,7 @@ import cs3500.animator.model.shapes.Rectangle;
 import cs3500.animator.util.AnimationBuilder;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,115 +44,42 @@ public class KeyframeModel extends AbstractAnimatorModel implements IKeyframeMod
   }
 
   @Override
-  public IShape shapeAt(String name, int tick) {
-    if (name == null || shapes.get(name) == null || tick < 0) {
-      throw new IllegalArgumentException("Invalid arguments");
-    }
-
-    IShape startingShape = shapes.get(name).copy();
-
-    List<Action> actions = super.getShapeActions(name);
-    if (actions.size() == 0) {
-      startingShape.setVisibility(false);
-      return startingShape;
-    } else {
-      int minTick = super.getShapeActions(name).get(0).getFirstTick();
-      for (Action a : super.getShapeActions(name)) {
-        minTick = Math.min(minTick, a.getFirstTick());
-      }
-      if (tick < minTick) {
-        startingShape.setVisibility(false);
-        return startingShape;
-      }
-    }
-
-    startingShape.setVisibility(true);
+  protected boolean stateAt(ShapeTrack track, int tick, int count, double[] state, int offset) {
+    return track.keyframeStateAt(tick, count, state, offset);
+  }
 
-    int closestActionDistance = Math.abs(actions.get(0).getFirstTick() - tick);
-    Action closestAction = actions.get(0);
+  @Override
+  protected boolean stateBetween(ShapeTrack track, double tick, int count, double[] state,
+      int offset) {
+    return track.keyframeStateBetween(tick, count, state, offset);
+  }
 
-    for (Action a : actions) {
-      if (a.getFirstTick() == tick) {
-        // found an action with the exact tick
-        startingShape.move(a.getToPosition());
-        startingShape.changeColor(a.getToColor());
-        startingShape.grow(a.getToWidth() - startingShape.getWidth(),
-            a.getToHeight() - startingShape.getHeight());
-        startingShape.rotateTo(a.getToDegrees());
-        return startingShape;
-      }
+  @Override
+  protected int visibleFrom(ShapeTrack track) {
+    return track.keyframeVisibleFrom();
+  }
 
-      int currentActionDistance = Math.abs(a.getFirstTick() - tick);
-      closestActionDistance = Math.min(closestActionDistance, currentActionDistance);
-      if (closestActionDistance == currentActionDistance) {
-        closestAction = a;
-      }
-    }
+  @Override
+  protected int[] changes(ShapeTrack track) {
+    return track.keyframeChanges();
+  }
 
-    // if the closest action is the last motion and it happens before the given tick
-    // OR if the closest action is the first motion and it happens after the given tick
-    if ((closestAction.getFirstTick() < tick
-        && actions.indexOf(closestAction) == actions.size() - 1)
-        || (closestAction.getFirstTick() > tick && actions.indexOf(closestAction) == 0)) {
-      startingShape.move(closestAction.getToPosition());
-      startingShape.changeColor(closestAction.getToColor());
-      startingShape.grow(closestAction.getToWidth() - startingShape.getWidth(),
-          closestAction.getToHeight() - startingShape.getHeight());
-      startingShape.rotateTo(closestAction.getToDegrees());
-      return startingShape;
-    }
+  @Override
+  protected Action actionAt(String shapeName, ShapeTrack track, int index) {
+    return new RotationActionImpl(shapeName, shapes.get(shapeName), track.getFirstTick(index),
+        positionAt(track, index), track.getValue(index, ShapeTrack.WIDTH),
+        track.getValue(index, ShapeTrack.HEIGHT), colorAt(track, index),
+        (int) track.getValue(index, ShapeTrack.ROTATION));
+  }
 
-    if (closestAction.getFirstTick() < tick) {
-      Action actionAfter = actions.get(actions.indexOf(closestAction) + 1);
-      // tween between closest and actionAfter states
-      return tweenShape(startingShape, tick, closestAction, actionAfter);
-    } else if (closestAction.getFirstTick() > tick) {
-      Action actionBefore = actions.get(actions.indexOf(closestAction) - 1);
-      // tween between closest and actionBefore states
-      return tweenShape(startingShape, tick, actionBefore, closestAction);
-    } else {
-      startingShape.setVisibility(false);
-      return startingShape;
-    }
+  @Override
+  protected boolean conflicts(ShapeTrack track, Action action) {
+    return track.keyframeConflicts(action.getFirstTick());
   }
 
-  // Linear interpolation for shape properties
-  private IShape tweenShape(IShape startingShape, int tick, Action actionBefore,
-      Action actionAfter) {
-
-    double timeRatioA =
-        1.0 * (actionAfter.getFirstTick() - tick) / (1.0 * (actionAfter.getFirstTick()
-            - actionBefore.getFirstTick()));
-    double timeRatioB =
-        1.0 * (tick - actionBefore.getFirstTick()) / (1.0 * (actionAfter.getFirstTick()
-            - actionBefore.getFirstTick()));
-
-    double newWidth =
-        actionBefore.getToWidth() * timeRatioA + actionAfter.getToWidth() * timeRatioB;
-    double newHeight =
-        actionBefore.getToHeight() * timeRatioA + actionAfter.getToHeight() * timeRatioB;
-
-    double newX = actionBefore.getToPosition().getX() * timeRatioA
-        + actionAfter.getToPosition().getX() * timeRatioB;
-    double newY = actionBefore.getToPosition().getY() * timeRatioA
-        + actionAfter.getToPosition().getY() * timeRatioB;
-
-    double newRotation =
-        actionBefore.getToDegrees() * timeRatioA + actionAfter.getToDegrees() * timeRatioB;
-
-    double[] closestRGB = actionBefore.getToColor().getRGB();
-    double[] afterRGB = actionAfter.getToColor().getRGB();
-
-    double newRed = closestRGB[0] * timeRatioA + afterRGB[0] * timeRatioB;
-    double newGreen = closestRGB[1] * timeRatioA + afterRGB[1] * timeRatioB;
-    double newBlue = closestRGB[2] * timeRatioA + afterRGB[2] * timeRatioB;
-
-    startingShape.move(new Position((int) newX, (int) newY));
-    startingShape.grow((int) (newWidth - startingShape.getWidth()),
-        (int) (newHeight - startingShape.getHeight()));
-    startingShape.changeColor(new RGBColor(newRed, newGreen, newBlue));
-    startingShape.rotateTo((int) newRotation);
-    return startingShape;
+  @Override
+  protected boolean conflicts(ShapeTrack track, List<Action> actions) {
+    return track.keyframesConflict(actions);
   }
 
   @Override
@@ -177,10 +105,8 @@ public class KeyframeModel extends AbstractAnimatorModel implements IKeyframeMod
     Action action = new RotationActionImpl(name, shape, tick, toPosition, toWidth, toHeight,
         toColor, rotation);
 
-    super.validateAction(action);
-
-    actionList.add(action);
-    actionList.sort(Comparator.comparingInt(Action::getFirstTick));
+    validateAction(action);
+    addValidatedAction(action, rotation);
   }
 
   @Override
@@ -192,7 +118,8 @@ public class KeyframeModel extends AbstractAnimatorModel implements IKeyframeMod
     if (shape == null) {
       throw new IllegalArgumentException("Shape not found");
     }
-    actionList.removeIf(a -> a.getFirstTick() == tick);
+    tracks.get(name).removeAt(tick);
+    modCount++;
   }
 
   /**
@@ -208,7 +135,7 @@ public class KeyframeModel extends AbstractAnimatorModel implements IKeyframeMod
     private int heightBound;
 
     private final Map<String, IShape> shapes;
-    private final List<Action> actionListBeginningConditions;
+    private final Map<String, Action> beginningConditions;
     private final List<Action> actionList;
 
     private final Map<String, List<String>> layers;
@@ -224,14 +151,14 @@ public class KeyframeModel extends AbstractAnimatorModel implements IKeyframeMod
       this.heightBound = AnimatorModel.DEFAULT_HEIGHT_BOUND;
       this.shapes = new LinkedHashMap<>();
       this.actionList = new ArrayList<>();
-      this.actionListBeginningConditions = new ArrayList<>();
+      this.beginningConditions = new HashMap<>();
 
       this.layers = new LinkedHashMap<>();
     }
 
     @Override
     public IKeyframeModel build() {
-      IKeyframeModel model = new KeyframeModel(leftX, topY, widthBound, heightBound);
+      KeyframeModel model = new KeyframeModel(leftX, topY, widthBound, heightBound);
 
       for (String layerName : layers.keySet()) {
         if (!layerName.equals("default")) {
@@ -243,21 +170,22 @@ public class KeyframeModel extends AbstractAnimatorModel implements IKeyframeMod
         String layerName = entry.getKey();
 
         for (String name : entry.getValue()) {
-          for (Action a : actionListBeginningConditions) {
-            if (a.getShapeName().equals(name)) {
-              shapes.get(name).move(a.getToPosition());
-              shapes.get(name).changeColor(a.getToColor());
-              shapes.get(name).grow(a.getToWidth(), a.getToHeight());
-              break;
-            }
+          Action a = beginningConditions.get(name);
+          if (a != null) {
+            shapes.get(name).move(a.getToPosition());
+            shapes.get(name).changeColor(a.getToColor());
+            shapes.get(name).grow(a.getToWidth(), a.getToHeight());
           }
           model.createShape(name, shapes.get(name), layerName);
         }
       }
 
+      // checked all at once and sorted once here, so that every keyframe is added to the end of
+      // its shape's timeline without being checked again
+      model.validateActions(actionList);
+      actionList.sort(Comparator.comparingInt(Action::getFirstTick));
       for (Action a : actionList) {
-        model.addKeyframe(a.getShapeName(), a.getFirstTick(), a.getToPosition(),
-            a.getToWidth(), a.getToHeight(), a.getToColor(), a.getToDegrees());
+        model.addValidatedAction(a, a.getToDegrees());
       }
 
       return model;
@@ -316,10 +244,11 @@ public class KeyframeModel extends AbstractAnimatorModel implements IKeyframeMod
           w2, h2, new RGBColor(r2, g2, b2), rotation2);
 
       actionList.add(keyframeSecond);
-      actionList.sort(Comparator.comparingInt(Action::getFirstTick));
 
-      actionListBeginningConditions.add(keyframeFirst);
-      actionListBeginningConditions.sort(Comparator.comparingInt(Action::getFirstTick));
+      Action earliest = beginningConditions.get(name);
+      if (earliest == null || keyframeFirst.getFirstTick() < earliest.getFirstTick()) {
+        beginningConditions.put(name, keyframeFirst);
+      }
 
       return this;
     }
@@ -0,0 +1,379 @@
+package cs3500.animator.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a position in the timeline of an animation that is used to play it one tick after
+ * another. The cursor remembers the current action of every shape, so moving it to a nearby tick
+ * only looks at the actions that were passed over. Playing forwards or backwards therefore costs
+ * time proportional to the number of shapes, regardless of how many actions each shape has.
+ *
+ * <p>The cursor also keeps a {@link SpatialIndex} of the area each shape can ever cover, so that a
+ * frame can be filled with only the shapes that may be inside a region, such as the part of the
+ * canvas that is on screen. Only those shapes are looked at, so the cost of such a frame depends on
+ * the number of shapes near the region rather than on the number of shapes in the animation.
+ *
+ * <p>Shapes that are not visible at the tick, according to the model's {@link TimelineIndex}, are
+ * skipped in both cases without looking up their current action.
+ *
+ * <p>If the model is changed, the cursor notices on its next use and looks up every shape again.
+ */
+public final class PlaybackCursor {
+
+  // the largest jump in ticks that is made by walking from the current actions
+  private static final int WALK_LIMIT = 8;
+
+  private final AbstractAnimatorModel model;
+  private int modCount;
+  private int tick;
+  private double position;
+
+  private int size;
+  private ShapeTrack[] tracks;
+  private String[] names;
+  private String[] types;
+  private int[] counts;
+  private int[] countTicks;
+  private double[] bounds;
+  private SpatialIndex index;
+  private TimelineIndex timeline;
+  private int[] found;
+  private int[] changed;
+  private boolean[] marks;
+
+  private int layerCount;
+  private String[] layerNames;
+  private int[] layerStarts;
+
+  /**
+   * Constructs a cursor at tick 0 for the given model.
+   *
+   * @param model the model to play
+   * @throws IllegalArgumentException if the model is null
+   */
+  PlaybackCursor(AbstractAnimatorModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    this.model = model;
+    this.tracks = new ShapeTrack[0];
+    this.names = new String[0];
+    this.types = new String[0];
+    this.counts = new int[0];
+    this.countTicks = new int[0];
+    this.bounds = new double[0];
+    this.found = new int[0];
+    this.changed = new int[0];
+    this.marks = new boolean[0];
+    this.layerNames = new String[0];
+    this.layerStarts = new int[0];
+    reload();
+  }
+
+  /**
+   * Gets the tick value this cursor is at.
+   *
+   * @return the current tick value
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Determines if the model has not changed since this cursor was last used. Frames filled by
+   * this cursor before a change to the model no longer describe the animation.
+   *
+   * @return true if the model is unchanged
+   */
+  public boolean isCurrent() {
+    return modCount == model.modCount;
+  }
+
+  /**
+   * Moves this cursor to the given tick. The current action of a shape is only updated when the
+   * shape is next looked at: small moves in either direction are made by walking from the action
+   * the shape was last at; larger jumps search the shape's timeline.
+   *
+   * @param tick the tick value to move to
+   * @throws IllegalArgumentException if the tick value is invalid
+   */
+  public void moveTo(int tick) throws IllegalArgumentException {
+    if (tick < 0) {
+      throw new IllegalArgumentException("Invalid tick value");
+    }
+    if (modCount != model.modCount) {
+      reload();
+    }
+    this.tick = tick;
+    this.position = tick;
+  }
+
+  /**
+   * Moves this cursor to the given tick, then fills the given frame with the state of every
+   * visible shape at that tick, in layer order.
+   *
+   * @param tick  the tick value
+   * @param frame the frame to fill
+   * @throws IllegalArgumentException if the frame is null
+   * @throws IllegalArgumentException if the tick value is invalid
+   */
+  public void frameAt(int tick, Frame frame) throws IllegalArgumentException {
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null");
+    }
+    moveTo(tick);
+
+    int count = timeline.visibleAt(tick, found);
+    frame.clear(tick);
+    int layer = 0;
+    for (int k = 0; k < count; k++) {
+      layer = beginLayers(frame, layer, found[k]);
+      addShape(frame, found[k]);
+    }
+    beginLayers(frame, layer, size);
+  }
+
+  /**
+   * Moves this cursor to the given tick, then fills the given frame with the state of the visible
+   * shapes at that tick that may overlap the given region, in layer order. Shapes that can never
+   * overlap the region are left out without being looked at; the frame still lists every layer.
+   *
+   * @param tick   the tick value
+   * @param frame  the frame to fill
+   * @param x      the x-value of the top left corner of the region
+   * @param y      the y-value of the top left corner of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   * @throws IllegalArgumentException if the frame is null
+   * @throws IllegalArgumentException if the tick value is invalid
+   */
+  public void frameAt(int tick, Frame frame, int x, int y, int width, int height)
+      throws IllegalArgumentException {
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null");
+    }
+    moveTo(tick);
+
+    int count = index.query(x, y, (double) x + width, (double) y + height, found);
+    frame.clear(tick);
+    int layer = 0;
+    for (int k = 0; k < count; k++) {
+      if (timeline.isVisible(found[k], tick)) {
+        layer = beginLayers(frame, layer, found[k]);
+        addShape(frame, found[k]);
+      }
+    }
+    beginLayers(frame, layer, size);
+  }
+
+  /**
+   * Fills the given frame with the state of every visible shape at a point that may lie between
+   * two whole ticks, in layer order, for smooth playback. Moves this cursor to the whole tick after
+   * the point. At whole ticks this is the same as {@link #frameAt(int, Frame)}.
+   *
+   * @param tick  the point in time, in ticks
+   * @param frame the frame to fill
+   * @throws IllegalArgumentException if the frame is null
+   * @throws IllegalArgumentException if the point is negative or not a number
+   */
+  public void frameAt(double tick, Frame frame) throws IllegalArgumentException {
+    frameBetween(tick, frame, false);
+  }
+
+  /**
+   * Fills the given frame with the exact state of every visible shape at a point that may lie
+   * between two whole ticks, in layer order, as in {@link #frameAt(double, Frame)}, except that
+   * whole ticks are computed the same way as the points between them rather than as in {@link
+   * #frameAt(int, Frame)}. Used where every frame must be drawn alike, such as for video.
+   *
+   * @param tick  the point in time, in ticks
+   * @param frame the frame to fill
+   * @throws IllegalArgumentException if the frame is null
+   * @throws IllegalArgumentException if the point is negative or not a number
+   */
+  public void exactFrameAt(double tick, Frame frame) throws IllegalArgumentException {
+    frameBetween(tick, frame, true);
+  }
+
+  // fills the frame with every visible shape at a point, using the state between ticks at whole
+  // ticks as well if exact
+  private void frameBetween(double tick, Frame frame, boolean exact) {
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null");
+    }
+    moveBetween(tick);
+
+    int count = timeline.visibleAt(this.tick, found);
+    frame.clear((int) Math.floor(tick), tick);
+    int layer = 0;
+    for (int k = 0; k < count; k++) {
+      layer = beginLayers(frame, layer, found[k]);
+      addShape(frame, found[k], exact);
+    }
+    beginLayers(frame, layer, size);
+  }
+
+  /**
+   * Fills the given frame with the state of the visible shapes at a point that may lie between two
+   * whole ticks that may overlap the given region, in layer order, as in {@link #frameAt(int,
+   * Frame, int, int, int, int)}. At whole ticks this is the same as that method.
+   *
+   * @param tick   the point in time, in ticks
+   * @param frame  the frame to fill
+   * @param x      the x-value of the top left corner of the region
+   * @param y      the y-value of the top left corner of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   * @throws IllegalArgumentException if the frame is null
+   * @throws IllegalArgumentException if the point is negative or not a number
+   */
+  public void frameAt(double tick, Frame frame, int x, int y, int width, int height)
+      throws IllegalArgumentException {
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null");
+    }
+    moveBetween(tick);
+
+    int count = index.query(x, y, (double) x + width, (double) y + height, found);
+    frame.clear((int) Math.floor(tick), tick);
+    int layer = 0;
+    for (int k = 0; k < count; k++) {
+      if (timeline.isVisible(found[k], this.tick)) {
+        layer = beginLayers(frame, layer, found[k]);
+        addShape(frame, found[k]);
+      }
+    }
+    beginLayers(frame, layer, size);
+  }
+
+  /**
+   * Finds the shapes that may look different at some tick after the first given tick, up to and
+   * including the second, than they do at the first, and are in at least one of the given frames.
+   * For each one, in draw order, its draw order index in each frame is written into the matching
+   * array, or -1 if it is not in that frame. The shapes are found through the model's {@link
+   * TimelineIndex}, so only the shapes that change are looked at. The ticks may be given in either
+   * order. Both frames must have been filled by this cursor since the model last changed.
+   *
+   * @param frame        the first frame to look in
+   * @param other        the second frame to look in
+   * @param fromTick     the tick to compare against
+   * @param toTick       the last tick to look at
+   * @param frameIndices the array to write the indices in the first frame into
+   * @param otherIndices the array to write the indices in the second frame into
+   * @return the number of shapes found
+   * @throws IllegalArgumentException if a frame or an array is null
+   * @throws IllegalArgumentException if a tick value is invalid
+   */
+  public int changedShapes(Frame frame, Frame other, int fromTick, int toTick, int[] frameIndices,
+      int[] otherIndices) throws IllegalArgumentException {
+    if (frame == null || other == null || frameIndices == null || otherIndices == null) {
+      throw new IllegalArgumentException("Invalid arguments");
+    }
+    if (fromTick < 0 || toTick < 0) {
+      throw new IllegalArgumentException("Invalid tick value");
+    }
+    if (modCount != model.modCount) {
+      reload();
+    }
+
+    int count = timeline.changedBetween(fromTick, toTick, changed, marks);
+    int matches = 0;
+    for (int k = 0; k < count; k++) {
+      int index = frame.indexOf(changed[k]);
+      int otherIndex = other.indexOf(changed[k]);
+      if (index >= 0 || otherIndex >= 0) {
+        frameIndices[matches] = index;
+        otherIndices[matches] = otherIndex;
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  // moves this cursor to the whole tick at or after the given point, remembering the point
+  private void moveBetween(double tick) {
+    if (!(tick >= 0)) {
+      throw new IllegalArgumentException("Invalid tick value");
+    }
+    moveTo((int) Math.ceil(tick));
+    this.position = tick;
+  }
+
+  // starts every layer from the given one that begins at or before the shape at the given index,
+  // and returns the index of the next layer to start
+  private int beginLayers(Frame frame, int layer, int shape) {
+    while (layer < layerCount && layerStarts[layer] <= shape) {
+      frame.beginLayer(layerNames[layer++]);
+    }
+    return layer;
+  }
+
+  // adds the shape at the given index to the frame if it is visible, first bringing its current
+  // action up to date with the tick of this cursor
+  private void addShape(Frame frame, int i) {
+    addShape(frame, i, false);
+  }
+
+  // adds the shape at the given index to the frame as above, using the state between ticks at
+  // whole ticks as well if exact
+  private void addShape(Frame frame, int i, boolean exact) {
+    if (Math.abs(tick - countTicks[i]) <= WALK_LIMIT) {
+      counts[i] = tracks[i].lowerBound(tick, counts[i]);
+    } else {
+      counts[i] = tracks[i].lowerBound(tick);
+    }
+    countTicks[i] = tick;
+
+    int offset = frame.nextOffset();
+    boolean visible = position == tick && !exact
+        ? model.stateAt(tracks[i], tick, counts[i], frame.values(), offset)
+        : model.stateBetween(tracks[i], position, counts[i], frame.values(), offset);
+    if (visible) {
+      frame.commit(names[i], types[i], i);
+    }
+  }
+
+  // collects the tracks of the model in layer order, and finds the current action of each
+  private void reload() {
+    size = 0;
+    layerCount = 0;
+    for (String layerName : model.layerOrder) {
+      if (layerCount == layerNames.length) {
+        int capacity = Math.max(4, layerCount * 2);
+        layerNames = Arrays.copyOf(layerNames, capacity);
+        layerStarts = Arrays.copyOf(layerStarts, capacity);
+      }
+      layerNames[layerCount] = layerName;
+      layerStarts[layerCount] = size;
+      layerCount++;
+
+      List<String> layer = model.layers.get(layerName);
+      for (String name : layer) {
+        ShapeTrack track = model.tracks.get(name);
+        if (size == tracks.length) {
+          int capacity = Math.max(16, size * 2);
+          tracks = Arrays.copyOf(tracks, capacity);
+          names = Arrays.copyOf(names, capacity);
+          types = Arrays.copyOf(types, capacity);
+          counts = Arrays.copyOf(counts, capacity);
+          countTicks = Arrays.copyOf(countTicks, capacity);
+          bounds = Arrays.copyOf(bounds, capacity * 4);
+          found = Arrays.copyOf(found, capacity);
+          changed = Arrays.copyOf(changed, capacity);
+          marks = Arrays.copyOf(marks, capacity);
+        }
+        tracks[size] = track;
+        names[size] = name;
+        types[size] = model.shapes.get(name).toString();
+        counts[size] = track.lowerBound(tick);
+        countTicks[size] = tick;
+        track.bounds(bounds, size * 4);
+        size++;
+      }
+    }
+    index = new SpatialIndex(bounds, size);
+    timeline = model.timeline();
+    modCount = model.modCount;
+  }
+}
@@ -2,6 +2,7 @@ package cs3500.animator.model;
 
 import cs3500.animator.model.action.Action;
 import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeState;
 import java.util.List;
 
 /**
@@ -23,6 +24,39 @@ public interface ReadOnlyAnimatorModel {
 
   IShape shapeAt(String name, int tick);
 
+  /**
+   * Gets the state of the shape stored in the model at a given tick, as an immutable value. Unlike
+   * {@link #shapeAt}, no shape is copied or mutated.
+   *
+   * @param name the name of the shape
+   * @param tick the tick value
+   * @return the state of the shape
+   * @throws IllegalArgumentException if the name is null
+   * @throws IllegalArgumentException if the shape is not found
+   * @throws IllegalArgumentException if the tick value is invalid
+   */
+  ShapeState shapeStateAt(String name, int tick);
+
+  /**
+   * Fills the given frame with the state of every visible shape at the given tick, in layer order.
+   * The frame is emptied first, so the same frame can be reused for every tick that is drawn.
+   *
+   * @param tick  the tick value
+   * @param frame the frame to fill
+   * @throws IllegalArgumentException if the frame is null
+   * @throws IllegalArgumentException if the tick value is invalid
+   */
+  void frameAt(int tick, Frame frame);
+
+  /**
+   * Creates a cursor for playing this animation one tick after another. The cursor remembers where
+   * each shape is in its timeline, so moving it forwards or backwards by a few ticks is much
+   * cheaper than evaluating the frame from scratch.
+   *
+   * @return a new playback cursor
+   */
+  PlaybackCursor cursor();
+
   /**
    * Returns a list of the shape names stored by the model.
    *
@@ -76,6 +110,51 @@ public interface ReadOnlyAnimatorModel {
    */
   List<Action> getShapeActions(String shapeName);
 
+  /**
+   * Gets the state of the specified shape at the first and final tick of each of its actions, in
+   * the order of {@link #getShapeActions}. The shape's timeline is walked once, so this is cheaper
+   * than calling shapeAt at both ends of every action.
+   *
+   * @param shapeName the name of the shape
+   * @return a list with two states for each action, the state at the first tick followed by the
+   *         state at the final tick
+   * @throws IllegalArgumentException if shapeName is null or the shape is not found
+   */
+  List<ShapeState> getShapeActionStates(String shapeName);
+
+  /**
+   * Gets the names of the shapes that are visible at the given tick, in the order they are drawn.
+   * Shapes are found through an index over their timelines, without computing their states.
+   *
+   * @param tick the tick value
+   * @return a list of shape names
+   * @throws IllegalArgumentException if the tick value is invalid
+   */
+  List<String> getVisibleShapes(int tick);
+
+  /**
+   * Gets the names of the shapes that may look different at the given tick than at the tick
+   * before it, in the order they are drawn. A shape is included if one of its actions is changing
+   * it at the tick, or if it becomes visible at the tick.
+   *
+   * @param tick the tick value
+   * @return a list of shape names
+   * @throws IllegalArgumentException if the tick value is invalid
+   */
+  List<String> getMovingShapes(int tick);
+
+  /**
+   * Gets the names of the shapes that may look different at any tick after the first tick, up to
+   * and including the second tick, than at the first tick, in the order they are drawn.
+   *
+   * @param fromTick the first tick value
+   * @param toTick   the second tick value
+   * @return a list of shape names
+   * @throws IllegalArgumentException if a tick value is invalid, or the second tick is before the
+   *                                  first
+   */
+  List<String> getChangedShapes(int fromTick, int toTick);
+
   /**
    * Gets an ordered list of layers stored by the model.
    *
@@ -92,4 +171,13 @@ public interface ReadOnlyAnimatorModel {
    */
   String getShapeLayer(String name);
 
+  /**
+   * Gets the names of the shapes in the specified layer, in the order they are drawn.
+   *
+   * @param layerName the layer name
+   * @return a list of shape names
+   * @throws IllegalArgumentException if the layer name is null or the layer is not found
+   */
+  List<String> getLayerShapes(String layerName);
+
 }
@@ -2,6 +2,7 @@ package cs3500.animator.model;
 
 import cs3500.animator.model.action.Action;
 import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeState;
 import java.util.List;
 
 /**
@@ -36,6 +37,21 @@ public class ReadOnlyAnimatorModelImpl implements ReadOnlyAnimatorModel {
     }
   }
 
+  @Override
+  public ShapeState shapeStateAt(String name, int tick) throws IllegalArgumentException {
+    return model.shapeStateAt(name, tick);
+  }
+
+  @Override
+  public void frameAt(int tick, Frame frame) throws IllegalArgumentException {
+    model.frameAt(tick, frame);
+  }
+
+  @Override
+  public PlaybackCursor cursor() {
+    return model.cursor();
+  }
+
   @Override
   public List<String> getShapeNames() {
     return model.getShapeNames();
@@ -71,6 +87,27 @@ public class ReadOnlyAnimatorModelImpl implements ReadOnlyAnimatorModel {
     return model.getShapeActions(shapeName);
   }
 
+  @Override
+  public List<String> getVisibleShapes(int tick) throws IllegalArgumentException {
+    return model.getVisibleShapes(tick);
+  }
+
+  @Override
+  public List<String> getMovingShapes(int tick) throws IllegalArgumentException {
+    return model.getMovingShapes(tick);
+  }
+
+  @Override
+  public List<String> getChangedShapes(int fromTick, int toTick)
+      throws IllegalArgumentException {
+    return model.getChangedShapes(fromTick, toTick);
+  }
+
+  @Override
+  public List<ShapeState> getShapeActionStates(String shapeName) {
+    return model.getShapeActionStates(shapeName);
+  }
+
 
   @Override
   public List<String> getLayers() {
@@ -81,4 +118,9 @@ public class ReadOnlyAnimatorModelImpl implements ReadOnlyAnimatorModel {
   public String getShapeLayer(String name) {
     return model.getShapeLayer(name);
   }
+
+  @Override
+  public List<String> getLayerShapes(String layerName) {
+    return model.getLayerShapes(layerName);
+  }
 }
@@ -0,0 +1,657 @@
+package cs3500.animator.model;
+
+import cs3500.animator.model.action.Action;
+import cs3500.animator.model.shapes.IColor;
+import cs3500.animator.model.shapes.IPosition;
+import cs3500.animator.model.shapes.IShape;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents the timeline of {@link Action}s for a single shape. Lookups on a track only depend on
+ * the number of actions stored for that shape, not on the actions stored for every other shape.
+ * The actions themselves are not kept: their ticks and ending properties are stored in primitive
+ * arrays, with the properties of each action next to each other, so that the state of the shape at
+ * any tick can be computed directly, without executing the actions, and so that conflicts with a
+ * new action can be found by only looking at the actions that overlap it in time. Callers that
+ * still need {@link Action} objects create them from these properties.
+ *
+ * <p>INVARIANT: The actions are sorted by first tick value. Actions with the same first tick value
+ * are kept in the order they were added.
+ */
+final class ShapeTrack {
+
+  /**
+   * Indices of the shape properties in a state array.
+   */
+  static final int X = 0;
+  static final int Y = 1;
+  static final int WIDTH = 2;
+  static final int HEIGHT = 3;
+  static final int RED = 4;
+  static final int GREEN = 5;
+  static final int BLUE = 6;
+  static final int ROTATION = 7;
+  static final int STATE_SIZE = 8;
+
+  /**
+   * Flags for the properties of the shape that an action changes.
+   */
+  private static final int CHANGES_WIDTH = 1;
+  private static final int CHANGES_HEIGHT = 1 << 1;
+  private static final int CHANGES_POSITION = 1 << 2;
+  private static final int CHANGES_COLOR = 1 << 3;
+  private static final int CHANGE_FLAGS = 4;
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final double[] base;
+  private final boolean baseVisible;
+
+  private int size;
+  private int[] firstTicks;
+  private int[] finalTicks;
+  private double[] values;
+  private int[] changes;
+  private int[] maxFinalTicks;
+  private int finalTick;
+
+  /**
+   * Constructs an empty track for the given shape. The shape's current properties are used as the
+   * state of the shape before any of its actions are executed.
+   *
+   * @param shape the shape this track belongs to
+   */
+  ShapeTrack(IShape shape) {
+    this.base = new double[STATE_SIZE];
+    IPosition position = shape.getCurrentPosition();
+    IColor color = shape.getColor();
+    setState(base, 0, position.getX(), position.getY(), shape.getWidth(), shape.getHeight(),
+        color.getRed(), color.getGreen(), color.getBlue(), shape.getRotation());
+    this.baseVisible = shape.getVisibility();
+
+    this.size = 0;
+    this.firstTicks = new int[INITIAL_CAPACITY];
+    this.finalTicks = new int[INITIAL_CAPACITY];
+    this.values = new double[INITIAL_CAPACITY * STATE_SIZE];
+    this.changes = new int[INITIAL_CAPACITY];
+    this.maxFinalTicks = new int[INITIAL_CAPACITY];
+    this.finalTick = 0;
+  }
+
+  /**
+   * Inserts the properties of the given action into this track, maintaining the sorted order of
+   * the track. The action itself is not kept.
+   *
+   * @param action  the action to add
+   * @param degrees the rotation of the shape at the end of the action
+   */
+  void add(Action action, int degrees) {
+    int index = upperBound(action.getFirstTick());
+
+    if (size == firstTicks.length) {
+      int capacity = size * 2;
+      firstTicks = Arrays.copyOf(firstTicks, capacity);
+      finalTicks = Arrays.copyOf(finalTicks, capacity);
+      values = Arrays.copyOf(values, capacity * STATE_SIZE);
+      changes = Arrays.copyOf(changes, capacity);
+      maxFinalTicks = Arrays.copyOf(maxFinalTicks, capacity);
+    }
+    System.arraycopy(firstTicks, index, firstTicks, index + 1, size - index);
+    System.arraycopy(finalTicks, index, finalTicks, index + 1, size - index);
+    System.arraycopy(values, index * STATE_SIZE, values, (index + 1) * STATE_SIZE,
+        (size - index) * STATE_SIZE);
+    System.arraycopy(changes, index, changes, index + 1, size - index);
+
+    IPosition position = action.getToPosition();
+    IColor color = action.getToColor();
+    firstTicks[index] = action.getFirstTick();
+    finalTicks[index] = action.getFinalTick();
+    setState(values, index * STATE_SIZE, position.getX(), position.getY(), action.getToWidth(),
+        action.getToHeight(), color.getRed(), color.getGreen(), color.getBlue(), degrees);
+    changes[index] = changedProperties(position.getX(), position.getY(), action.getToWidth(),
+        action.getToHeight(), color.getRed(), color.getGreen(), color.getBlue());
+    size++;
+
+    updateMaxFinalTicks(index);
+    finalTick = Math.max(0, maxFinalTicks[size - 1]);
+  }
+
+  /**
+   * Removes every action from this track that starts at the given tick.
+   *
+   * @param tick the first tick value of the actions to remove
+   */
+  void removeAt(int tick) {
+    int from = lowerBound(tick);
+    int to = upperBound(tick);
+    if (from == to) {
+      return;
+    }
+    System.arraycopy(firstTicks, to, firstTicks, from, size - to);
+    System.arraycopy(finalTicks, to, finalTicks, from, size - to);
+    System.arraycopy(values, to * STATE_SIZE, values, from * STATE_SIZE,
+        (size - to) * STATE_SIZE);
+    System.arraycopy(changes, to, changes, from, size - to);
+    size -= to - from;
+
+    updateMaxFinalTicks(from);
+    finalTick = size == 0 ? 0 : Math.max(0, maxFinalTicks[size - 1]);
+  }
+
+  /**
+   * Gets the number of actions in this track.
+   *
+   * @return the number of actions
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Gets the first tick value of the action at the given index of this track.
+   *
+   * @param index the index of the action
+   * @return the first tick value
+   */
+  int getFirstTick(int index) {
+    return firstTicks[checkIndex(index)];
+  }
+
+  /**
+   * Gets the final tick value of the action at the given index of this track.
+   *
+   * @param index the index of the action
+   * @return the final tick value
+   */
+  int getFinalTick(int index) {
+    return finalTicks[checkIndex(index)];
+  }
+
+  /**
+   * Gets an ending property of the action at the given index of this track.
+   *
+   * @param index    the index of the action
+   * @param property the index of the property in a state array, such as {@link #X}
+   * @return the value of the property
+   */
+  double getValue(int index, int property) {
+    return values[checkIndex(index) * STATE_SIZE + property];
+  }
+
+  /**
+   * Gets the largest final tick value of the actions in this track, or 0 if the track is empty.
+   *
+   * @return the final tick value
+   */
+  int getFinalTick() {
+    return finalTick;
+  }
+
+  /**
+   * Determines if the given motion conflicts with a motion in this track. Two motions conflict if
+   * they overlap in time and change the same property of the shape. Only the motions that start
+   * before the given motion ends and are still running when it starts are looked at.
+   *
+   * @param action the motion to check
+   * @return true if the motion conflicts with a motion in this track
+   */
+  boolean motionConflicts(Action action) {
+    IPosition position = action.getToPosition();
+    IColor color = action.getToColor();
+    int changed = changedProperties(position.getX(), position.getY(), action.getToWidth(),
+        action.getToHeight(), color.getRed(), color.getGreen(), color.getBlue());
+    if (changed == 0) {
+      return false;
+    }
+
+    int first = action.getFirstTick();
+    for (int i = lowerBound(action.getFinalTick()) - 1; i >= 0 && maxFinalTicks[i] > first;
+        i--) {
+      if (finalTicks[i] > first && (changes[i] & changed) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines if any of the given motions conflict with each other or with a motion in this
+   * track. The motions are sorted by first tick value and swept once, remembering the latest final
+   * tick value of the motions changing each property, so the cost is that of the sort.
+   *
+   * @param added the motions to check, which must be for the shape of this track
+   * @return true if any two of the motions conflict
+   */
+  boolean motionsConflict(List<Action> added) {
+    int total = size + added.size();
+    int[] firsts = Arrays.copyOf(firstTicks, total);
+    int[] finals = Arrays.copyOf(finalTicks, total);
+    int[] changed = Arrays.copyOf(changes, total);
+    for (int i = size; i < total; i++) {
+      Action action = added.get(i - size);
+      IPosition position = action.getToPosition();
+      IColor color = action.getToColor();
+      firsts[i] = action.getFirstTick();
+      finals[i] = action.getFinalTick();
+      changed[i] = changedProperties(position.getX(), position.getY(), action.getToWidth(),
+          action.getToHeight(), color.getRed(), color.getGreen(), color.getBlue());
+    }
+    long[] order = sortedByFirstTick(firsts, total);
+
+    int[] latest = new int[CHANGE_FLAGS];
+    Arrays.fill(latest, Integer.MIN_VALUE);
+    int start = 0;
+    while (start < total) {
+      int first = firsts[(int) order[start]];
+      int end = start;
+      while (end < total && firsts[(int) order[end]] == first) {
+        end++;
+      }
+
+      // motions starting together conflict unless one of them starts and ends on the same tick
+      int together = 0;
+      for (int i = start; i < end; i++) {
+        int index = (int) order[i];
+        for (int flag = 0; flag < CHANGE_FLAGS; flag++) {
+          if ((changed[index] & (1 << flag)) != 0 && latest[flag] > first) {
+            return true;
+          }
+        }
+        if (finals[index] > first) {
+          if ((together & changed[index]) != 0) {
+            return true;
+          }
+          together |= changed[index];
+        }
+      }
+
+      for (int i = start; i < end; i++) {
+        int index = (int) order[i];
+        for (int flag = 0; flag < CHANGE_FLAGS; flag++) {
+          if ((changed[index] & (1 << flag)) != 0) {
+            latest[flag] = Math.max(latest[flag], finals[index]);
+          }
+        }
+      }
+      start = end;
+    }
+    return false;
+  }
+
+  /**
+   * Determines if this track has a keyframe at the given tick.
+   *
+   * @param tick the tick value
+   * @return true if a keyframe starts at the tick
+   */
+  boolean keyframeConflicts(int tick) {
+    int index = lowerBound(tick);
+    return index < size && firstTicks[index] == tick;
+  }
+
+  /**
+   * Determines if any of the given keyframes are at the same tick as each other or as a keyframe
+   * in this track.
+   *
+   * @param added the keyframes to check, which must be for the shape of this track
+   * @return true if two keyframes are at the same tick
+   */
+  boolean keyframesConflict(List<Action> added) {
+    int total = size + added.size();
+    int[] ticks = Arrays.copyOf(firstTicks, total);
+    for (int i = size; i < total; i++) {
+      ticks[i] = added.get(i - size).getFirstTick();
+    }
+    Arrays.sort(ticks);
+    for (int i = 1; i < total; i++) {
+      if (ticks[i - 1] == ticks[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Computes the state of the shape at the given tick, treating the actions of this track as
+   * motions that are executed in order. A motion that is complete by the given tick sets every
+   * property to its ending value, and a motion that is still running moves every property from its
+   * current value towards its ending value. Motions that start and end on the same tick do not
+   * change the shape.
+   *
+   * <p>Only the motions after the most recently completed motion need to be looked at, so the cost
+   * does not depend on the number of ticks or the number of earlier motions. The tick may lie
+   * between two whole ticks, in which case running motions are applied in proportion.
+   *
+   * @param tick   the tick value
+   * @param count  the number of motions starting before the tick, see {@link #lowerBound}
+   * @param state  the array to write the state of the shape into
+   * @param offset the index in the array to start writing at
+   * @return the visibility of the shape at the given tick
+   */
+  boolean motionStateAt(double tick, int count, double[] state, int offset) {
+    // the most recently completed motion determines every property of the shape
+    int settled = count - 1;
+    while (settled >= 0
+        && (finalTicks[settled] > tick || finalTicks[settled] == firstTicks[settled])) {
+      settled--;
+    }
+
+    if (settled >= 0) {
+      System.arraycopy(values, settled * STATE_SIZE, state, offset, STATE_SIZE);
+    } else {
+      System.arraycopy(base, 0, state, offset, STATE_SIZE);
+    }
+    state[offset + ROTATION] = base[ROTATION];
+
+    // motions that are still running at the given tick are partially applied in order
+    for (int i = settled + 1; i < count; i++) {
+      if (finalTicks[i] > tick) {
+        double ratio = 1.0 * (tick - firstTicks[i]) / (finalTicks[i] - firstTicks[i]);
+        int from = i * STATE_SIZE;
+        for (int p = X; p <= BLUE; p++) {
+          state[offset + p] += (values[from + p] - state[offset + p]) * ratio;
+        }
+      }
+    }
+
+    return baseVisible || count > 0;
+  }
+
+  /**
+   * Computes the state of the shape at the given tick, treating the actions of this track as
+   * keyframes. The shape is not visible before its first keyframe, keeps the properties of its
+   * last keyframe after it, and is linearly interpolated between the two keyframes surrounding the
+   * tick otherwise. The surrounding keyframes are found with a binary search.
+   *
+   * @param tick   the tick value
+   * @param count  the number of keyframes before the tick, see {@link #lowerBound}
+   * @param state  the array to write the state of the shape into
+   * @param offset the index in the array to start writing at
+   * @return the visibility of the shape at the given tick
+   */
+  boolean keyframeStateAt(int tick, int count, double[] state, int offset) {
+    return keyframeStateAt(tick, count, state, offset, true);
+  }
+
+  /**
+   * Computes the state of the shape at a point that may lie between two whole ticks, treating the
+   * actions of this track as keyframes as in {@link #keyframeStateAt(int, int, double[], int)}.
+   * The interpolated properties are not truncated to whole numbers, so the shape moves smoothly
+   * between ticks.
+   *
+   * @param tick   the point in time, in ticks
+   * @param count  the number of keyframes before the point, see {@link #lowerBound}
+   * @param state  the array to write the state of the shape into
+   * @param offset the index in the array to start writing at
+   * @return the visibility of the shape at the given point
+   */
+  boolean keyframeStateBetween(double tick, int count, double[] state, int offset) {
+    return keyframeStateAt(tick, count, state, offset, false);
+  }
+
+  // computes the state of the shape from its keyframes, truncating the tweened properties to whole
+  // numbers if asked to
+  private boolean keyframeStateAt(double tick, int count, double[] state, int offset,
+      boolean whole) {
+    if (size == 0 || tick < firstTicks[0]) {
+      System.arraycopy(base, 0, state, offset, STATE_SIZE);
+      return false;
+    }
+
+    int after = count;
+    if (after == size || firstTicks[after] == tick) {
+      // on a keyframe, or past the last keyframe
+      int index = after == size ? size - 1 : after;
+      System.arraycopy(values, index * STATE_SIZE, state, offset, STATE_SIZE);
+      return true;
+    }
+
+    int before = after - 1;
+    double timeRatioA = 1.0 * (firstTicks[after] - tick)
+        / (1.0 * (firstTicks[after] - firstTicks[before]));
+    double timeRatioB = 1.0 * (tick - firstTicks[before])
+        / (1.0 * (firstTicks[after] - firstTicks[before]));
+
+    int offsetA = before * STATE_SIZE;
+    int offsetB = after * STATE_SIZE;
+    for (int p = 0; p < STATE_SIZE; p++) {
+      state[offset + p] = values[offsetA + p] * timeRatioA + values[offsetB + p] * timeRatioB;
+    }
+    if (!whole) {
+      return true;
+    }
+
+    // position, rotation, and changes in size are whole numbers when tweening
+    state[offset + X] = (int) state[offset + X];
+    state[offset + Y] = (int) state[offset + Y];
+    state[offset + WIDTH] = base[WIDTH] + (int) (state[offset + WIDTH] - base[WIDTH]);
+    state[offset + HEIGHT] = base[HEIGHT] + (int) (state[offset + HEIGHT] - base[HEIGHT]);
+    state[offset + ROTATION] = (int) state[offset + ROTATION];
+    return true;
+  }
+
+  /**
+   * Gets the first tick at which the shape is visible when the actions of this track are treated
+   * as motions, as in {@link #motionStateAt}.
+   *
+   * @return the first visible tick, {@link Integer#MIN_VALUE} if the shape is always visible, or
+   *         {@link Integer#MAX_VALUE} if it never is
+   */
+  int motionVisibleFrom() {
+    if (baseVisible) {
+      return Integer.MIN_VALUE;
+    }
+    return size == 0 ? Integer.MAX_VALUE : firstTicks[0] + 1;
+  }
+
+  /**
+   * Gets the ticks at which the shape may look different than at the tick before, when the actions
+   * of this track are treated as motions. A motion only changes the shape after its first tick, up
+   * to and including its final tick.
+   *
+   * @return the first and last tick of each interval of change, one after another
+   */
+  int[] motionChanges() {
+    int[] intervals = new int[2 * size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (firstTicks[i] < finalTicks[i]) {
+        intervals[count++] = firstTicks[i] + 1;
+        intervals[count++] = finalTicks[i];
+      }
+    }
+    return Arrays.copyOf(intervals, count);
+  }
+
+  /**
+   * Gets the first tick at which the shape is visible when the actions of this track are treated
+   * as keyframes, as in {@link #keyframeStateAt}.
+   *
+   * @return the first visible tick, or {@link Integer#MAX_VALUE} if the shape is never visible
+   */
+  int keyframeVisibleFrom() {
+    return size == 0 ? Integer.MAX_VALUE : firstTicks[0];
+  }
+
+  /**
+   * Gets the ticks at which the shape may look different than at the tick before, when the actions
+   * of this track are treated as keyframes. The shape may change at every tick after a keyframe,
+   * up to and including the next keyframe.
+   *
+   * @return the first and last tick of each interval of change, one after another
+   */
+  int[] keyframeChanges() {
+    int[] intervals = new int[2 * Math.max(0, size - 1)];
+    for (int i = 0; i + 1 < size; i++) {
+      intervals[2 * i] = firstTicks[i] + 1;
+      intervals[2 * i + 1] = firstTicks[i + 1];
+    }
+    return intervals;
+  }
+
+  /**
+   * Finds a box that contains the shape, as drawn with its rotation, in every state it can be in at
+   * any tick. Every property of the shape always lies between the smallest and largest values it
+   * has before its actions and at the end of each action, so the box is found from those values
+   * alone. If the shape is ever rotated, the box is grown to hold the shape at any angle.
+   *
+   * @param bounds the array to write the smallest x, smallest y, largest x and largest y into
+   * @param offset the index in the array to start writing at
+   */
+  void bounds(double[] bounds, int offset) {
+    double minX = base[X];
+    double minY = base[Y];
+    double maxX = base[X];
+    double maxY = base[Y];
+    double minWidth = base[WIDTH];
+    double minHeight = base[HEIGHT];
+    double maxWidth = base[WIDTH];
+    double maxHeight = base[HEIGHT];
+    boolean rotated = base[ROTATION] != 0;
+    for (int i = 0; i < size * STATE_SIZE; i += STATE_SIZE) {
+      minX = Math.min(minX, values[i + X]);
+      minY = Math.min(minY, values[i + Y]);
+      maxX = Math.max(maxX, values[i + X]);
+      maxY = Math.max(maxY, values[i + Y]);
+      minWidth = Math.min(minWidth, values[i + WIDTH]);
+      minHeight = Math.min(minHeight, values[i + HEIGHT]);
+      maxWidth = Math.max(maxWidth, values[i + WIDTH]);
+      maxHeight = Math.max(maxHeight, values[i + HEIGHT]);
+      rotated |= values[i + ROTATION] != 0;
+    }
+
+    if (rotated) {
+      // the shape turns about its center, so it stays within a circle around the center
+      double radius = Math.hypot(maxWidth, maxHeight) / 2;
+      bounds[offset] = minX + minWidth / 2 - radius;
+      bounds[offset + 1] = minY + minHeight / 2 - radius;
+      bounds[offset + 2] = maxX + maxWidth / 2 + radius;
+      bounds[offset + 3] = maxY + maxHeight / 2 + radius;
+    } else {
+      bounds[offset] = minX;
+      bounds[offset + 1] = minY;
+      bounds[offset + 2] = maxX + maxWidth;
+      bounds[offset + 3] = maxY + maxHeight;
+    }
+  }
+
+  /**
+   * Gets the number of actions in this track that start strictly before the given tick. This is
+   * also the index of the first action that starts at or after the tick.
+   *
+   * @param tick the tick value
+   * @return the number of actions starting before the tick
+   */
+  int lowerBound(int tick) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (firstTicks[mid] < tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets the number of actions in this track that start strictly before the given tick, starting
+   * the search from a previous result. When the tick has only moved a little since the previous
+   * result was computed, this only looks at the actions that were passed over.
+   *
+   * @param tick the tick value
+   * @param hint a previous result of this method or {@link #lowerBound(int)}
+   * @return the number of actions starting before the tick
+   */
+  int lowerBound(int tick, int hint) {
+    int index = Math.max(0, Math.min(hint, size));
+    while (index < size && firstTicks[index] < tick) {
+      index++;
+    }
+    while (index > 0 && firstTicks[index - 1] >= tick) {
+      index--;
+    }
+    return index;
+  }
+
+  /**
+   * Gets the index of the first action in this track that starts strictly after the given tick.
+   *
+   * @param tick the tick value
+   * @return the number of actions starting at or before the tick
+   */
+  int upperBound(int tick) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (firstTicks[mid] <= tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  // throws an exception if the given index is not an action in this track
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Invalid action index");
+    }
+    return index;
+  }
+
+  // gets the flags for the properties that differ from the starting properties of the shape
+  private int changedProperties(double x, double y, double width, double height, double red,
+      double green, double blue) {
+    int changed = 0;
+    if (Math.abs(width - base[WIDTH]) > .00001) {
+      changed |= CHANGES_WIDTH;
+    }
+    if (Math.abs(height - base[HEIGHT]) > .00001) {
+      changed |= CHANGES_HEIGHT;
+    }
+    if (Math.abs(x - base[X]) > .00001 || Math.abs(y - base[Y]) > .00001) {
+      changed |= CHANGES_POSITION;
+    }
+    if (Math.abs(red - base[RED]) > .0001 || Math.abs(green - base[GREEN]) > .0001
+        || Math.abs(blue - base[BLUE]) > .0001) {
+      changed |= CHANGES_COLOR;
+    }
+    return changed;
+  }
+
+  // recomputes the largest final tick value of the actions up to each index, from the given index
+  private void updateMaxFinalTicks(int from) {
+    for (int i = from; i < size; i++) {
+      maxFinalTicks[i] = i == 0 ? finalTicks[i] : Math.max(maxFinalTicks[i - 1], finalTicks[i]);
+    }
+  }
+
+  // gets the indices of the given first tick values in sorted order, in the low bits of each value
+  private static long[] sortedByFirstTick(int[] firsts, int count) {
+    long[] order = new long[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = ((long) firsts[i] << 32) | i;
+    }
+    Arrays.sort(order);
+    return order;
+  }
+
+  // writes the given properties into the state array starting at the given offset
+  private static void setState(double[] state, int offset, double x, double y, double width,
+      double height, double red, double green, double blue, double rotation) {
+    state[offset + X] = x;
+    state[offset + Y] = y;
+    state[offset + WIDTH] = width;
+    state[offset + HEIGHT] = height;
+    state[offset + RED] = red;
+    state[offset + GREEN] = green;
+    state[offset + BLUE] = blue;
+    state[offset + ROTATION] = rotation;
+  }
+}
@@ -0,0 +1,160 @@
+package cs3500.animator.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a grid over a set of boxes, used to find the boxes that overlap a region without
+ * looking at every box. Each box is listed in every cell of the grid it overlaps, except for boxes
+ * that cover a large part of the grid, which are checked on every search instead.
+ *
+ * <p>Boxes are identified by their index, and are given as the smallest x, smallest y, largest x
+ * and largest y of each box, one after another, in a single array.
+ */
+final class SpatialIndex {
+
+  // the most cells along each side of the grid
+  private static final int MAX_CELLS = 64;
+
+  private final double[] bounds;
+  private final int size;
+
+  private final double left;
+  private final double top;
+  private final double cellWidth;
+  private final double cellHeight;
+  private final int columns;
+  private final int rows;
+  private final int[][] cells;
+  private final int[] cellSizes;
+  private int[] large;
+  private int largeSize;
+
+  private final int[] marks;
+  private int stamp;
+
+  /**
+   * Constructs an index over the given boxes.
+   *
+   * @param bounds the boxes, four values per box
+   * @param size   the number of boxes
+   */
+  SpatialIndex(double[] bounds, int size) {
+    this.bounds = bounds;
+    this.size = size;
+
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < size; i++) {
+      minX = Math.min(minX, bounds[4 * i]);
+      minY = Math.min(minY, bounds[4 * i + 1]);
+      maxX = Math.max(maxX, bounds[4 * i + 2]);
+      maxY = Math.max(maxY, bounds[4 * i + 3]);
+    }
+
+    // about one box per cell, on a grid no larger than the most cells allowed
+    int side = Math.max(1, Math.min(MAX_CELLS, (int) Math.ceil(Math.sqrt(size))));
+    this.left = size == 0 ? 0 : minX;
+    this.top = size == 0 ? 0 : minY;
+    this.columns = side;
+    this.rows = side;
+    this.cellWidth = size == 0 ? 1 : Math.max((maxX - minX) / side, Double.MIN_NORMAL);
+    this.cellHeight = size == 0 ? 1 : Math.max((maxY - minY) / side, Double.MIN_NORMAL);
+    this.cells = new int[columns * rows][];
+    this.cellSizes = new int[columns * rows];
+    this.large = new int[0];
+    this.largeSize = 0;
+    this.marks = new int[size];
+    this.stamp = 0;
+
+    int largeCells = Math.max(4, columns * rows / 4);
+    for (int i = 0; i < size; i++) {
+      int firstColumn = column(bounds[4 * i]);
+      int firstRow = row(bounds[4 * i + 1]);
+      int lastColumn = column(bounds[4 * i + 2]);
+      int lastRow = row(bounds[4 * i + 3]);
+      if ((lastColumn - firstColumn + 1) * (lastRow - firstRow + 1) > largeCells) {
+        large = add(large, largeSize++, i);
+        continue;
+      }
+      for (int r = firstRow; r <= lastRow; r++) {
+        for (int c = firstColumn; c <= lastColumn; c++) {
+          int cell = r * columns + c;
+          if (cells[cell] == null) {
+            cells[cell] = new int[4];
+          }
+          cells[cell] = add(cells[cell], cellSizes[cell]++, i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds the boxes that overlap the given region, and writes their indices into the given array
+   * in increasing order.
+   *
+   * @param minX   the smallest x of the region
+   * @param minY   the smallest y of the region
+   * @param maxX   the largest x of the region
+   * @param maxY   the largest y of the region
+   * @param result the array to write the indices into, with room for every box
+   * @return the number of boxes found
+   */
+  int query(double minX, double minY, double maxX, double maxY, int[] result) {
+    stamp++;
+    int count = 0;
+    if (size > 0 && maxX >= minX && maxY >= minY) {
+      int firstColumn = column(minX);
+      int firstRow = row(minY);
+      int lastColumn = column(maxX);
+      int lastRow = row(maxY);
+      for (int r = firstRow; r <= lastRow; r++) {
+        for (int c = firstColumn; c <= lastColumn; c++) {
+          int cell = r * columns + c;
+          for (int k = 0; k < cellSizes[cell]; k++) {
+            count = collect(cells[cell][k], minX, minY, maxX, maxY, result, count);
+          }
+        }
+      }
+      for (int k = 0; k < largeSize; k++) {
+        count = collect(large[k], minX, minY, maxX, maxY, result, count);
+      }
+    }
+    Arrays.sort(result, 0, count);
+    return count;
+  }
+
+  // adds the box to the result if it overlaps the region and has not been added yet
+  private int collect(int index, double minX, double minY, double maxX, double maxY,
+      int[] result, int count) {
+    if (marks[index] == stamp) {
+      return count;
+    }
+    marks[index] = stamp;
+    if (bounds[4 * index] <= maxX && bounds[4 * index + 2] >= minX
+        && bounds[4 * index + 1] <= maxY && bounds[4 * index + 3] >= minY) {
+      result[count++] = index;
+    }
+    return count;
+  }
+
+  // finds the column of the grid that the x value is in, clamped to the grid
+  private int column(double x) {
+    return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - left) / cellWidth)));
+  }
+
+  // finds the row of the grid that the y value is in, clamped to the grid
+  private int row(double y) {
+    return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - top) / cellHeight)));
+  }
+
+  // sets the value at the given index of the array, growing the array if it is full
+  private static int[] add(int[] array, int index, int value) {
+    if (index == array.length) {
+      array = Arrays.copyOf(array, Math.max(4, index * 2));
+    }
+    array[index] = value;
+    return array;
+  }
+}
@@ -0,0 +1,217 @@
+package cs3500.animator.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents an index over the timelines of every shape of an animation, used to find the shapes
+ * that are visible at a tick, or that may change between two ticks, without looking at every
+ * shape. Shapes are identified by their index in draw order.
+ *
+ * <p>Each shape is visible from a single tick onwards, so the shapes are kept sorted by that tick
+ * and the shapes visible at a tick are a prefix of that order. The ticks at which a shape may
+ * change are given as intervals, which are kept in an interval tree: an array sorted by the start
+ * of each interval, read as a balanced binary tree in which every node also knows the largest end
+ * of the intervals below it. Finding the k intervals that overlap a range takes O(log n + k) time.
+ *
+ * <p>An index is never changed once it is built: every query writes only to the arrays it is given,
+ * so one index can be read by several threads at once, as long as it is fully built before it is
+ * shared (see {@link AbstractAnimatorModel#timeline()}).
+ */
+final class TimelineIndex {
+
+  private final int size;
+  private final String[] names;
+  private final int[] visibleFrom;
+  private final int[] visibleOrder;
+  private final int[] visibleTicks;
+
+  private final int intervalCount;
+  private final int[] starts;
+  private final int[] ends;
+  private final int[] owners;
+  private final int[] maxEnds;
+
+  /**
+   * Constructs an index over the given timelines.
+   *
+   * @param names       the name of each shape, in draw order
+   * @param visibleFrom the first tick at which each shape is visible, {@link Integer#MIN_VALUE}
+   *                    if it is always visible, or {@link Integer#MAX_VALUE} if it never is
+   * @param changes     for each shape, the first and last tick of each interval in which the shape
+   *                    may look different than at the tick before, one after another
+   */
+  TimelineIndex(String[] names, int[] visibleFrom, int[][] changes) {
+    this.size = names.length;
+    this.names = Arrays.copyOf(names, size);
+    this.visibleFrom = Arrays.copyOf(visibleFrom, size);
+
+    long[] byTick = new long[size];
+    for (int i = 0; i < size; i++) {
+      byTick[i] = ((long) visibleFrom[i] << 32) | i;
+    }
+    Arrays.sort(byTick);
+    this.visibleOrder = new int[size];
+    this.visibleTicks = new int[size];
+    for (int i = 0; i < size; i++) {
+      visibleOrder[i] = (int) byTick[i];
+      visibleTicks[i] = (int) (byTick[i] >> 32);
+    }
+
+    // a shape becoming visible is a change at a single tick
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      count += changes[i].length / 2;
+      if (visibleFrom[i] != Integer.MIN_VALUE && visibleFrom[i] != Integer.MAX_VALUE) {
+        count++;
+      }
+    }
+    long[] byStart = new long[count];
+    int[] allStarts = new int[count];
+    int[] allEnds = new int[count];
+    int[] allOwners = new int[count];
+    int k = 0;
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < changes[i].length; j += 2) {
+        allStarts[k] = changes[i][j];
+        allEnds[k] = changes[i][j + 1];
+        allOwners[k++] = i;
+      }
+      if (visibleFrom[i] != Integer.MIN_VALUE && visibleFrom[i] != Integer.MAX_VALUE) {
+        allStarts[k] = visibleFrom[i];
+        allEnds[k] = visibleFrom[i];
+        allOwners[k++] = i;
+      }
+    }
+    for (int i = 0; i < count; i++) {
+      byStart[i] = ((long) allStarts[i] << 32) | i;
+    }
+    Arrays.sort(byStart);
+
+    this.intervalCount = count;
+    this.starts = new int[count];
+    this.ends = new int[count];
+    this.owners = new int[count];
+    for (int i = 0; i < count; i++) {
+      int from = (int) byStart[i];
+      starts[i] = allStarts[from];
+      ends[i] = allEnds[from];
+      owners[i] = allOwners[from];
+    }
+    this.maxEnds = new int[count];
+    fillMaxEnds(0, count);
+  }
+
+  /**
+   * Gets the number of shapes in this index.
+   *
+   * @return the number of shapes
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Gets the name of the shape at the given index.
+   *
+   * @param shape the index of the shape
+   * @return the name of the shape
+   */
+  String getName(int shape) {
+    return names[shape];
+  }
+
+  /**
+   * Determines if the shape at the given index is visible at the given tick.
+   *
+   * @param shape the index of the shape
+   * @param tick  the tick value
+   * @return true if the shape is visible
+   */
+  boolean isVisible(int shape, int tick) {
+    return visibleFrom[shape] <= tick;
+  }
+
+  /**
+   * Finds the shapes that are visible at the given tick, and writes their indices into the given
+   * array in increasing order.
+   *
+   * @param tick   the tick value
+   * @param result the array to write the indices into, with room for every shape
+   * @return the number of shapes found
+   */
+  int visibleAt(int tick, int[] result) {
+    // the number of shapes that become visible at or before the tick
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (visibleTicks[mid] <= tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    System.arraycopy(visibleOrder, 0, result, 0, low);
+    Arrays.sort(result, 0, low);
+    return low;
+  }
+
+  /**
+   * Finds the shapes that may look different at some tick after the first given tick, up to and
+   * including the second, than they do at the first tick, and writes their indices into the given
+   * array in increasing order. The ticks may be given in either order. A shape with several
+   * intervals in the range is only written once, using the given array of marks, which must be all
+   * false and is left all false again.
+   *
+   * @param fromTick the tick to compare against
+   * @param toTick   the last tick to look at
+   * @param result   the array to write the indices into, with room for every shape
+   * @param marks    the marks of the shapes already written, with room for every shape
+   * @return the number of shapes found
+   */
+  int changedBetween(int fromTick, int toTick, int[] result, boolean[] marks) {
+    int first = Math.min(fromTick, toTick);
+    int last = Math.max(fromTick, toTick);
+    int count = first == last ? 0 : collect(0, intervalCount, first + 1, last, result, marks, 0);
+    for (int i = 0; i < count; i++) {
+      marks[result[i]] = false;
+    }
+    Arrays.sort(result, 0, count);
+    return count;
+  }
+
+  // finds the intervals in the given part of the tree that overlap the range of ticks, and adds
+  // their shapes to the result if they have not been added yet
+  private int collect(int low, int high, int first, int last, int[] result, boolean[] marks,
+      int count) {
+    if (low >= high) {
+      return count;
+    }
+    int mid = (low + high) >>> 1;
+    if (maxEnds[mid] < first) {
+      // every interval in this part of the tree ends before the range
+      return count;
+    }
+    count = collect(low, mid, first, last, result, marks, count);
+    if (starts[mid] > last) {
+      // this interval, and every one after it, starts after the range
+      return count;
+    }
+    if (ends[mid] >= first && !marks[owners[mid]]) {
+      marks[owners[mid]] = true;
+      result[count++] = owners[mid];
+    }
+    return collect(mid + 1, high, first, last, result, marks, count);
+  }
+
+  // computes the largest end of the intervals in the given part of the tree, storing it at the
+  // middle of that part
+  private int fillMaxEnds(int low, int high) {
+    if (low >= high) {
+      return Integer.MIN_VALUE;
+    }
+    int mid = (low + high) >>> 1;
+    maxEnds[mid] = Math.max(ends[mid], Math.max(fillMaxEnds(low, mid), fillMaxEnds(mid + 1, high)));
+    return maxEnds[mid];
+  }
+}
@@ -76,42 +76,33 @@ public class ActionImpl implements Action {
 
     this.shape.setVisibility(true);
 
-    double currentX = this.shape.getCurrentPosition().getX();
-    double currentY = this.shape.getCurrentPosition().getY();
-
-    double[] currentColorValues = rgbValues(this.shape.getColor());
-    double rCurrent = currentColorValues[0];
-    double gCurrent = currentColorValues[1];
-    double bCurrent = currentColorValues[2];
-
-    double deltaTick = finalTick - firstTick;
-
-    if (Math.abs(finalTick - firstTick) <= .00001) {
+    if (ticks == this.firstTick) {
       return;
     }
 
-    double widthSpeed = (toWidth - this.shape.getWidth()) / deltaTick;
-    double heightSpeed = (toHeight - this.shape.getHeight()) / deltaTick;
-
-    double xSpeed = (toPosition.getX() - currentX) / deltaTick;
-    double ySpeed = (toPosition.getY() - currentY) / deltaTick;
-
-    double redSpeed = (toColor.getRed() - rCurrent) / deltaTick;
-    double greenSpeed = (toColor.getGreen() - gCurrent) / deltaTick;
-    double blueSpeed = (toColor.getBlue() - bCurrent) / deltaTick;
-
-    for (int i = firstTick; i < ticks; i++) {
-      currentX = this.shape.getCurrentPosition().getX();
-      currentY = this.shape.getCurrentPosition().getY();
-      currentColorValues = rgbValues(this.shape.getColor());
-      rCurrent = currentColorValues[0];
-      gCurrent = currentColorValues[1];
-      bCurrent = currentColorValues[2];
-      shape.move(new Position(currentX + xSpeed, currentY + ySpeed));
-      shape.changeColor(
-          new RGBColor((rCurrent + redSpeed), (gCurrent + greenSpeed), (bCurrent + blueSpeed)));
-      shape.grow(widthSpeed, heightSpeed);
+    if (ticks == this.finalTick) {
+      shape.move(toPosition);
+      shape.changeColor(toColor);
+      shape.grow(toWidth - this.shape.getWidth(), toHeight - this.shape.getHeight());
+      return;
     }
+
+    // interpolate directly between the current state and the final state
+    double ratio = 1.0 * (ticks - firstTick) / (finalTick - firstTick);
+
+    IPosition currentPosition = this.shape.getCurrentPosition();
+    double currentX = currentPosition.getX();
+    double currentY = currentPosition.getY();
+    IColor currentColor = this.shape.getColor();
+
+    shape.move(new Position(currentX + (toPosition.getX() - currentX) * ratio,
+        currentY + (toPosition.getY() - currentY) * ratio));
+    shape.changeColor(new RGBColor(
+        currentColor.getRed() + (toColor.getRed() - currentColor.getRed()) * ratio,
+        currentColor.getGreen() + (toColor.getGreen() - currentColor.getGreen()) * ratio,
+        currentColor.getBlue() + (toColor.getBlue() - currentColor.getBlue()) * ratio));
+    shape.grow((toWidth - this.shape.getWidth()) * ratio,
+        (toHeight - this.shape.getHeight()) * ratio);
   }
 
   @Override
@@ -192,13 +183,6 @@ public class ActionImpl implements Action {
     throw new UnsupportedOperationException("Operation not supported");
   }
 
-  protected static double[] rgbValues(IColor color) {
-    double r = color.getRed();
-    double g = color.getGreen();
-    double b = color.getBlue();
-    return new double[]{r, g, b};
-  }
-
   @Override
   public boolean equals(Object other) {
     if (!(other instanceof Action)) {
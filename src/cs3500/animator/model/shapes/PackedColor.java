@@ -0,0 +1,42 @@
+package cs3500.animator.model.shapes;
+
+/**
+ * Helper methods for colors packed into a single int as 0xRRGGBB, with each intensity stored as
+ * an integer from 0-255 inclusive in its own byte. A packed color is a plain int, so colors can be
+ * stored, compared and used as keys without allocating an object per color.
+ */
+public final class PackedColor {
+
+  // not instantiable
+  private PackedColor() {
+  }
+
+  /**
+   * Packs the given intensities into a single int.
+   *
+   * @param red   the red intensity
+   * @param green the green intensity
+   * @param blue  the blue intensity
+   * @return the packed color
+   * @throws IllegalArgumentException if the intensities are not between 0 and 255 inclusive
+   */
+  public static int pack(int red, int green, int blue) throws IllegalArgumentException {
+    if (((red | green | blue) & ~0xFF) != 0) {
+      throw new IllegalArgumentException("RGB values must be between 0 and 255 inclusive");
+    }
+    return (red << 16) | (green << 8) | blue;
+  }
+
+  /**
+   * Packs the given intensities into a single int, dropping the fractional part of each.
+   *
+   * @param red   the red intensity
+   * @param green the green intensity
+   * @param blue  the blue intensity
+   * @return the packed color
+   * @throws IllegalArgumentException if the intensities are not between 0 and 255 inclusive
+   */
+  public static int pack(double red, double green, double blue) throws IllegalArgumentException {
+    return pack((int) red, (int) green, (int) blue);
+  }
+}
@@ -0,0 +1,232 @@
+package cs3500.animator.model.shapes;
+
+import java.util.Objects;
+
+/**
+ * Represents the properties of a shape at a single point in time as an immutable value. Unlike an
+ * {@link IShape}, a state holds its position and color as primitive fields and cannot be changed,
+ * so it can be handed out and read any number of times without copying.
+ *
+ * <p>{@link #of(IShape)} and {@link #toShape()} convert between states and shapes for callers
+ * that still work with {@link IShape}s.
+ */
+public final class ShapeState {
+
+  private final String type;
+  private final double x;
+  private final double y;
+  private final double width;
+  private final double height;
+  private final double red;
+  private final double green;
+  private final double blue;
+  private final int rotation;
+  private final boolean visible;
+
+  /**
+   * Constructs a shape state with the given properties.
+   *
+   * @param type     the type of the shape (e.g. "rectangle", "ellipse")
+   * @param x        the x-value of the position
+   * @param y        the y-value of the position
+   * @param width    the width
+   * @param height   the height
+   * @param red      the red intensity, from 0-255 inclusive
+   * @param green    the green intensity, from 0-255 inclusive
+   * @param blue     the blue intensity, from 0-255 inclusive
+   * @param rotation the rotation in degrees
+   * @param visible  the visibility
+   * @throws IllegalArgumentException if the type is null
+   */
+  public ShapeState(String type, double x, double y, double width, double height, double red,
+      double green, double blue, int rotation, boolean visible) throws IllegalArgumentException {
+    if (type == null) {
+      throw new IllegalArgumentException("Type cannot be null");
+    }
+    this.type = type;
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.red = red;
+    this.green = green;
+    this.blue = blue;
+    this.rotation = rotation;
+    this.visible = visible;
+  }
+
+  /**
+   * Creates a shape state with the current properties of the given shape.
+   *
+   * @param shape the shape
+   * @return the state of the shape
+   * @throws IllegalArgumentException if the shape is null
+   */
+  public static ShapeState of(IShape shape) throws IllegalArgumentException {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null");
+    }
+    IPosition position = shape.getCurrentPosition();
+    IColor color = shape.getColor();
+    return new ShapeState(shape.toString(), position.getX(), position.getY(), shape.getWidth(),
+        shape.getHeight(), color.getRed(), color.getGreen(), color.getBlue(), shape.getRotation(),
+        shape.getVisibility());
+  }
+
+  /**
+   * Creates a new shape with the properties of this state.
+   *
+   * @return the shape
+   * @throws IllegalStateException if the type of this state is not a known shape type
+   */
+  public IShape toShape() throws IllegalStateException {
+    switch (type) {
+      case "rectangle":
+        return new Rectangle(width, height, new Position(x, y), new RGBColor(red, green, blue),
+            visible, rotation);
+      case "ellipse":
+        return new Ellipse(width, height, new Position(x, y), new RGBColor(red, green, blue),
+            visible, rotation);
+      default:
+        throw new IllegalStateException("Unknown shape type: " + type);
+    }
+  }
+
+  /**
+   * Gets the type of the shape (e.g. "rectangle", "ellipse").
+   *
+   * @return the type
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Gets the x-value of the position of the shape.
+   *
+   * @return x value
+   */
+  public double getX() {
+    return x;
+  }
+
+  /**
+   * Gets the y-value of the position of the shape.
+   *
+   * @return y value
+   */
+  public double getY() {
+    return y;
+  }
+
+  /**
+   * Gets the width of the shape.
+   *
+   * @return the width
+   */
+  public double getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of the shape.
+   *
+   * @return the height
+   */
+  public double getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the red intensity of the shape as a value from 0-255 inclusive.
+   *
+   * @return the red intensity
+   */
+  public double getRed() {
+    return red;
+  }
+
+  /**
+   * Gets the green intensity of the shape as a value from 0-255 inclusive.
+   *
+   * @return the green intensity
+   */
+  public double getGreen() {
+    return green;
+  }
+
+  /**
+   * Gets the blue intensity of the shape as a value from 0-255 inclusive.
+   *
+   * @return the blue intensity
+   */
+  public double getBlue() {
+    return blue;
+  }
+
+  /**
+   * Gets the rotation of the shape.
+   *
+   * @return the rotation in degrees
+   */
+  public int getRotation() {
+    return rotation;
+  }
+
+  /**
+   * Gets the visibility of the shape.
+   *
+   * @return true if the shape is visible
+   */
+  public boolean getVisibility() {
+    return visible;
+  }
+
+  /**
+   * Determines if this state has the same position as the given state.
+   *
+   * @param other the other state
+   * @return true if the positions are equal
+   */
+  public boolean samePosition(ShapeState other) {
+    return Math.abs(other.x - this.x) <= .00001 && Math.abs(other.y - this.y) <= .00001;
+  }
+
+  /**
+   * Determines if this state has the same color as the given state.
+   *
+   * @param other the other state
+   * @return true if the colors are equal
+   */
+  public boolean sameColor(ShapeState other) {
+    return Math.abs(other.red - this.red) <= .0001
+        && Math.abs(other.green - this.green) <= .0001
+        && Math.abs(other.blue - this.blue) <= .0001;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof ShapeState)) {
+      return false;
+    }
+    ShapeState otherState = (ShapeState) other;
+    return otherState.type.equals(this.type)
+        && otherState.width == this.width
+        && otherState.height == this.height
+        && samePosition(otherState)
+        && sameColor(otherState)
+        && otherState.rotation == this.rotation
+        && otherState.visible == this.visible;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, width, height, rotation, visible);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s pos=(%s,%s) size=(%s,%s) color=(%s,%s,%s) rotation=%d visible=%b",
+        type, x, y, width, height, red, green, blue, rotation, visible);
+  }
+}
@@ -1,8 +1,8 @@
 package cs3500.animator.util;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
 
 /**
  * A helper to read animation data and construct an animation from it.
@@ -27,6 +27,13 @@ public class AnimationReader {
    * </ul>
    * </p>
    *
+   * <p>
+   * A shape line may end with the name of the layer to add the shape to, and a motion line may end
+   * with two more integers giving the initial and final rotation of the shape. Tokens are separated
+   * by whitespace, and a # starts a comment that runs to the end of the line. Errors in the input
+   * are reported with the line and column they were found at.
+   * </p>
+   *
    * @param readable The source of data for the animation
    * @param builder  A builder for helping to construct a new animation
    * @param <Doc>    The main model interface type describing animations
@@ -35,9 +42,7 @@ public class AnimationReader {
   public static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder) {
     Objects.requireNonNull(readable, "Must have non-null readable source");
     Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
-    Scanner s = new Scanner(readable);
-    // Split at whitespace, and ignore # comment lines
-    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+"));
+    Tokenizer s = new Tokenizer(readable);
     while (s.hasNext()) {
       String word = s.next();
 
@@ -52,13 +57,13 @@ public class AnimationReader {
           readMotion(s, builder);
           break;
         default:
-          throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
+          throw new IllegalStateException("Unexpected keyword: " + word + " " + s.tokenLocation());
       }
     }
     return builder.build();
   }
 
-  private static <Doc> void readCanvas(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readCanvas(Tokenizer s, AnimationBuilder<Doc> builder) {
     int[] vals = new int[4];
     String[] fieldNames = {"left", "top", "width", "height"};
     for (int i = 0; i < 4; i++) {
@@ -67,32 +72,33 @@ public class AnimationReader {
     builder.setBounds(vals[0], vals[1], vals[2], vals[3]);
   }
 
-  private static <Doc> void readShape(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readShape(Tokenizer s, AnimationBuilder<Doc> builder) {
     String name;
     String type;
     String layer;
     if (s.hasNext()) {
       name = s.next();
     } else {
-      throw new IllegalStateException("Shape: Expected a name, but no more input available");
+      throw new IllegalStateException("Shape: Expected a name, but no more input available "
+          + s.location());
     }
     if (s.hasNext()) {
       type = s.next();
     } else {
-      throw new IllegalStateException("Shape: Expected a type, but no more input available");
+      throw new IllegalStateException("Shape: Expected a type, but no more input available "
+          + s.location());
     }
 
-    layer = s.nextLine();
-    if (layer.equals("")) {
+    // the layer is optional, and must be on the same line as the shape
+    layer = s.nextOnLine();
+    if (layer == null) {
       layer = "default";
-    } else {
-      layer = layer.substring(1);
     }
 
     builder.declareShape(name, type, layer);
   }
 
-  private static <Doc> void readMotion(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readMotion(Tokenizer s, AnimationBuilder<Doc> builder) {
     String[] fieldNames = new String[]{
         "initial time",
         "initial x-coordinate", "initial y-coordinate",
@@ -108,7 +114,8 @@ public class AnimationReader {
     if (s.hasNext()) {
       name = s.next();
     } else {
-      throw new IllegalStateException("Motion: Expected a shape name, but no more input available");
+      throw new IllegalStateException("Motion: Expected a shape name, but no more input available "
+          + s.location());
     }
 
     for (int i = 0; i < 16; i++) {
@@ -123,7 +130,7 @@ public class AnimationReader {
       if (s.hasNextInt()) {
         rot2 = getInt(s, "Motion", "final rotation");
       } else {
-        throw new IllegalStateException("No final rotation specified");
+        throw new IllegalStateException("No final rotation specified " + s.location());
       }
     }
 
@@ -135,17 +142,216 @@ public class AnimationReader {
         vals[17]);
   }
 
-  private static int getInt(Scanner s, String label, String fieldName) {
+  private static int getInt(Tokenizer s, String label, String fieldName) {
     if (s.hasNextInt()) {
       return s.nextInt();
     } else if (s.hasNext()) {
+      String location = s.location();
       throw new IllegalStateException(
-          String.format("%s: expected integer for %s, got: %s", label, fieldName, s.next()));
+          String.format("%s: expected integer for %s, got: %s %s", label, fieldName, s.next(),
+              location));
     } else {
       throw new IllegalStateException(
-          String.format("%s: expected integer for %s, but no more input available",
-              label, fieldName));
+          String.format("%s: expected integer for %s, but no more input available %s",
+              label, fieldName, s.location()));
     }
   }
 
+  /**
+   * Splits the characters of a {@link Readable} into whitespace-separated tokens, skipping #
+   * comments, and parses integer tokens directly. Characters are read through a buffer, and a
+   * token can be looked at before it is taken.
+   */
+  private static final class Tokenizer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Readable source;
+    private final CharBuffer buffer;
+    private boolean ended;
+    private int line;
+    private int column;
+
+    private final StringBuilder token;
+    private boolean peeked;
+    private int tokenLine;
+    private int tokenColumn;
+    private boolean isInt;
+    private int intValue;
+
+    private Tokenizer(Readable source) {
+      this.source = source;
+      this.buffer = CharBuffer.allocate(BUFFER_SIZE);
+      this.buffer.flip();
+      this.ended = false;
+      this.line = 1;
+      this.column = 0;
+      this.token = new StringBuilder();
+      this.peeked = false;
+    }
+
+    // determines if there is another token, reading it if it has not been read yet
+    private boolean hasNext() {
+      if (!peeked) {
+        skipSpaceAndComments(true);
+        readToken();
+      }
+      return token.length() > 0;
+    }
+
+    // determines if there is another token, and it is an integer
+    private boolean hasNextInt() {
+      return hasNext() && isInt;
+    }
+
+    // takes the next token
+    private String next() {
+      if (!hasNext()) {
+        throw new IllegalStateException("No more input available " + location());
+      }
+      peeked = false;
+      return token.toString();
+    }
+
+    // takes the next token as an integer
+    private int nextInt() {
+      if (!hasNextInt()) {
+        throw new IllegalStateException("Expected an integer " + location());
+      }
+      peeked = false;
+      return intValue;
+    }
+
+    // takes the next token if it is on the same line as the token just taken, or returns null
+    private String nextOnLine() {
+      if (!peeked) {
+        skipSpaceAndComments(false);
+        int c = peekChar();
+        if (c == -1 || c == '#' || c == '\n' || c == '\r') {
+          return null;
+        }
+      }
+      return next();
+    }
+
+    // describes where the most recent token starts
+    private String tokenLocation() {
+      return String.format("(line %d, column %d)", tokenLine, tokenColumn);
+    }
+
+    // describes where the next token starts, or where the input ends
+    private String location() {
+      if (hasNext()) {
+        return tokenLocation();
+      }
+      return String.format("(line %d, column %d)", line, column + 1);
+    }
+
+    // skips whitespace and comments, stopping at the end of the line if newlines are not skipped
+    private void skipSpaceAndComments(boolean newlines) {
+      int c = peekChar();
+      while (c != -1) {
+        if (c == '#') {
+          while (c != -1 && c != '\n' && c != '\r') {
+            advance();
+            c = peekChar();
+          }
+        } else if (isSpace(c) && (newlines || (c != '\n' && c != '\r'))) {
+          advance();
+          c = peekChar();
+        } else {
+          return;
+        }
+      }
+    }
+
+    // reads characters up to the next whitespace or comment as the next token
+    private void readToken() {
+      token.setLength(0);
+      tokenLine = line;
+      tokenColumn = column + 1;
+      int c = peekChar();
+      while (c != -1 && c != '#' && !isSpace(c)) {
+        token.append((char) c);
+        advance();
+        c = peekChar();
+      }
+      peeked = true;
+      parseInt();
+    }
+
+    // parses the current token as an int, in the same form accepted by Integer.parseInt
+    private void parseInt() {
+      isInt = false;
+      int length = token.length();
+      int index = 0;
+      boolean negative = false;
+      if (length > 0 && (token.charAt(0) == '-' || token.charAt(0) == '+')) {
+        negative = token.charAt(0) == '-';
+        index = 1;
+      }
+      if (index == length) {
+        return;
+      }
+
+      long value = 0;
+      for (; index < length; index++) {
+        char c = token.charAt(index);
+        if (c < '0' || c > '9') {
+          return;
+        }
+        value = value * 10 + (c - '0');
+        if (value > (long) Integer.MAX_VALUE + 1) {
+          return;
+        }
+      }
+      value = negative ? -value : value;
+      if (value > Integer.MAX_VALUE) {
+        return;
+      }
+      isInt = true;
+      intValue = (int) value;
+    }
+
+    // looks at the next character without taking it, or returns -1 at the end of the input
+    private int peekChar() {
+      if (!buffer.hasRemaining()) {
+        if (ended) {
+          return -1;
+        }
+        buffer.clear();
+        int count;
+        try {
+          do {
+            count = source.read(buffer);
+          }
+          while (count == 0);
+        } catch (IOException e) {
+          throw new IllegalStateException("Could not read input: " + e.getMessage());
+        }
+        buffer.flip();
+        if (count < 0) {
+          ended = true;
+          return -1;
+        }
+      }
+      return buffer.get(buffer.position());
+    }
+
+    // takes the next character, keeping track of the line and column
+    private void advance() {
+      char c = buffer.get();
+      if (c == '\n') {
+        line++;
+        column = 0;
+      } else {
+        column++;
+      }
+    }
+
+    // determines if the character is whitespace, as defined by \p{Space}
+    private static boolean isSpace(int c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+  }
 }
@@ -1,13 +1,20 @@
 package cs3500.animator.view;
 
-import cs3500.animator.model.shapes.IPosition;
-import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.Frame;
+import cs3500.animator.model.PlaybackCursor;
 import cs3500.animator.model.ReadOnlyAnimatorModel;
-import java.awt.Color;
+import java.awt.AlphaComposite;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Transparency;
 import java.awt.event.ActionListener;
-import java.util.List;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import javax.swing.JPanel;
 import javax.swing.Timer;
 
@@ -17,11 +24,32 @@ import javax.swing.Timer;
  */
 public class AnimationPanel extends JPanel {
 
-  private final ReadOnlyAnimatorModel model;
+  // the fewest shapes a layer must have to be worth drawing into an offscreen image, since copying
+  // the image costs about as much as drawing a handful of shapes
+  private static final int MIN_CACHED_SHAPES = 16;
+
+  // pixels added around shape bounds and visible regions, to cover rounding when shapes are drawn
+  private static final int DIRTY_MARGIN = 2;
+
+  // the time in milliseconds between timer events, about one frame of a 60Hz display
+  private static final int FRAME_DELAY = 16;
+
+  private final PlaybackCursor cursor;
+  private Frame frame;
+  private Frame previous;
+  private Rectangle region;
+  private Rectangle previousRegion;
+  private boolean evaluated;
+  private boolean[] changedLayers;
+  private int[] changed;
+  private int[] previousChanged;
+  private final ShapePainter painter;
+  private final Map<String, LayerImage> layerImages;
   private Timer timer;
+  private final PlaybackClock clock;
 
   private int tick;
-  private final int initialSpeed;
+  private double position;
 
   /**
    * Constructs an animation panel with the given animation model and the given inital speed.
@@ -35,15 +63,39 @@ public class AnimationPanel extends JPanel {
     if (model == null) {
       throw new IllegalArgumentException("Model cannot be null");
     }
-    this.model = model;
+    this.cursor = model.cursor();
+    this.frame = new Frame();
+    this.previous = new Frame();
+    this.region = new Rectangle();
+    this.previousRegion = new Rectangle();
+    this.evaluated = false;
+    this.changedLayers = new boolean[0];
+    this.changed = new int[0];
+    this.previousChanged = new int[0];
+    this.painter = new ShapePainter();
+    this.layerImages = new HashMap<>();
     tick = 0;
-    this.initialSpeed = initialSpeed;
+    position = 0;
+    this.clock = new PlaybackClock(initialSpeed, FRAME_DELAY);
 
   }
 
   /**
    * Paints this panel. Currently supports rectangle and ellipse shapes from the model.
    *
+   * <p>A layer that looks exactly the same as it did in the frame before the current one is drawn
+   * once into an offscreen image, which is copied onto the panel until the layer changes again.
+   * Layers that are changing are drawn shape by shape. The shapes that changed since the frame
+   * before are found through the model's index of the ticks at which each shape changes, so only
+   * the shapes that move are looked at. If the model or its layers change, the whole panel is drawn
+   * again.
+   *
+   * <p>Only the shapes that may be inside the visible part of this panel are looked at and drawn,
+   * so scrolling a large canvas only costs as much as the shapes that are on screen.
+   *
+   * <p>Frames between two whole ticks are drawn with antialiased shapes at their exact position,
+   * so that shapes move smoothly while playing. Frames at whole ticks are drawn on whole pixels.
+   *
    * @param g graphics to render
    */
 
@@ -51,58 +103,196 @@ public class AnimationPanel extends JPanel {
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
 
-    List<String> names = model.getShapeNames();
-
-    for (String layerName : model.getLayers()) {
+    Rectangle clip = g.getClipBounds();
+    if (!evaluated || frame.getPosition() != position || !cursor.isCurrent()
+        || !region.contains(clip == null ? new Rectangle(0, 0, getWidth(), getHeight()) : clip)) {
+      evaluate(clip);
+    }
 
-      for (String name : names) {
+    Graphics2D graphics2D = (Graphics2D) g.create();
 
-        if (model.getShapeLayer(name).equals(layerName)) {
+    // images are drawn at the panel's own resolution, so they are only used without scaling
+    boolean cacheable = getWidth() > 0 && getHeight() > 0
+        && (graphics2D.getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) == 0;
+    if (!cacheable) {
+      layerImages.clear();
+    }
 
-          IShape shapeA = model.shapeAt(name, tick);
-          if (!shapeA.getVisibility()) {
-            continue;
-          }
+    for (int layer = 0; layer < frame.layerCount(); layer++) {
+      int start = frame.getLayerStart(layer);
+      int end = frame.getLayerEnd(layer);
+      if (start == end) {
+        continue;
+      }
 
-          IPosition pos = shapeA.getCurrentPosition();
-          double xA = pos.getX();
-          double yA = pos.getY();
-          double wA = shapeA.getWidth();
-          double hA = shapeA.getHeight();
-          double[] colorA = shapeA.getColor().getRGB();
+      if (!cacheable || end - start < MIN_CACHED_SHAPES || changedLayers[layer]) {
+        painter.paint(graphics2D, frame, start, end);
+        continue;
+      }
 
-          Graphics2D graphics2D = (Graphics2D) g.create();
-          graphics2D.rotate(-1 * Math.toRadians(shapeA.getRotation()), xA + wA / 2, yA + hA / 2);
+      String layerName = frame.getLayerName(layer);
+      LayerImage layerImage = layerImages.get(layerName);
+      if (layerImage == null || layerImage.image.getWidth() != getWidth()
+          || layerImage.image.getHeight() != getHeight()) {
+        layerImage = new LayerImage(createLayerImage());
+        layerImages.put(layerName, layerImage);
+      }
+      if (!layerImage.valid) {
+        Graphics2D imageGraphics = layerImage.image.createGraphics();
+        imageGraphics.setComposite(AlphaComposite.Clear);
+        imageGraphics.fillRect(0, 0, getWidth(), getHeight());
+        imageGraphics.setComposite(AlphaComposite.SrcOver);
+        painter.paint(imageGraphics, frame, start, end);
+        imageGraphics.dispose();
+        layerImage.valid = true;
+      }
+      graphics2D.drawImage(layerImage.image, 0, 0, null);
+    }
 
-          graphics2D.setColor(new Color((int) (colorA[0]), (int) (colorA[1]), (int) (colorA[2])));
+    graphics2D.dispose();
+  }
 
-          switch (shapeA.toString()) {
-            case "rectangle":
-              graphics2D.fillRect((int) (xA), (int) (yA), (int) (wA), (int) (hA));
-              break;
-            case "ellipse":
-              graphics2D.fillOval((int) (xA), (int) (yA), (int) (wA), (int) (hA));
-              break;
-            default:
-              throw new IllegalStateException("Cannot draw given shape");
-          }
+  // fills the frame for the current tick with the shapes in the visible part of this panel and the
+  // given area, keeping the frame before it to compare against, and returns the area of the panel
+  // that looks different, or null if nothing changed
+  private Rectangle evaluate(Rectangle area) {
+    boolean current = cursor.isCurrent();
+    Frame last = previous;
+    previous = frame;
+    frame = last;
+    previousRegion = region;
+
+    region = getVisibleRect();
+    if (area != null) {
+      region = region.union(area);
+    }
+    region.grow(DIRTY_MARGIN, DIRTY_MARGIN);
+    if (position == tick) {
+      cursor.frameAt(tick, frame, region.x, region.y, region.width, region.height);
+    } else {
+      cursor.frameAt(position, frame, region.x, region.y, region.width, region.height);
+    }
 
-          graphics2D.dispose();
+    if (changedLayers.length < frame.layerCount()) {
+      changedLayers = new boolean[frame.layerCount() * 2];
+    }
+    if (!evaluated || !current || !region.equals(previousRegion) || !frame.sameLayers(previous)
+        || frame.isBetweenTicks() != previous.isBetweenTicks()) {
+      evaluated = true;
+      layerImages.clear();
+      Arrays.fill(changedLayers, true);
+      return new Rectangle(0, 0, getWidth(), getHeight());
+    }
 
-        }
+    // only the shapes that change between the ticks on either side of both frames can look
+    // different, and shapes that appear or move in or out of the region are among them
+    int fromTick = (int) Math.floor(Math.min(frame.getPosition(), previous.getPosition()));
+    int toTick = (int) Math.ceil(Math.max(frame.getPosition(), previous.getPosition()));
+    int most = frame.size() + previous.size();
+    if (changed.length < most) {
+      changed = new int[most * 2];
+      previousChanged = new int[most * 2];
+    }
+    int count = cursor.changedShapes(frame, previous, fromTick, toTick, changed, previousChanged);
+
+    // the smallest and largest x and y values of the changed shapes, before and after
+    int[] box = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+    Arrays.fill(changedLayers, false);
+    int frameLayer = 0;
+    int previousLayer = 0;
+    for (int k = 0; k < count; k++) {
+      int i = changed[k];
+      int j = previousChanged[k];
+      // a shape may not have changed even though it could have, e.g. a motion that stays in place
+      if (i >= 0 && j >= 0 && frame.sameShape(i, previous, j)) {
+        continue;
+      }
+      if (i >= 0) {
+        frameLayer = layerOf(frame, i, frameLayer);
+        changedLayers[frameLayer] = true;
+        addBounds(frame, i, box);
+      }
+      if (j >= 0) {
+        previousLayer = layerOf(previous, j, previousLayer);
+        changedLayers[previousLayer] = true;
+        addBounds(previous, j, box);
+      }
+    }
+    for (int layer = 0; layer < frame.layerCount(); layer++) {
+      LayerImage layerImage = layerImages.get(frame.getLayerName(layer));
+      if (changedLayers[layer] && layerImage != null) {
+        layerImage.valid = false;
+      }
+    }
 
+    if (box[0] > box[2]) {
+      return null;
+    }
+    return new Rectangle(box[0], box[1], box[2] - box[0], box[3] - box[1]);
+  }
 
-      }
+  // finds the layer of the frame that holds the shape at the given index, searching from the
+  // given layer onwards
+  private static int layerOf(Frame frame, int index, int from) {
+    int layer = from;
+    while (frame.getLayerEnd(layer) <= index) {
+      layer++;
+    }
+    return layer;
+  }
 
+  // grows the box to include the shape at the given index of the frame, as drawn with its rotation
+  private static void addBounds(Frame frame, int index, int[] box) {
+    double width = frame.getWidth(index);
+    double height = frame.getHeight(index);
+    double centerX = frame.getX(index) + width / 2;
+    double centerY = frame.getY(index) + height / 2;
+
+    // the half width and half height of the rotated shape's bounding box
+    double radians = Math.toRadians(frame.getRotation(index));
+    double cos = Math.abs(Math.cos(radians));
+    double sin = Math.abs(Math.sin(radians));
+    double halfWidth = (width * cos + height * sin) / 2;
+    double halfHeight = (width * sin + height * cos) / 2;
+
+    box[0] = Math.min(box[0], (int) Math.floor(centerX - halfWidth) - DIRTY_MARGIN);
+    box[1] = Math.min(box[1], (int) Math.floor(centerY - halfHeight) - DIRTY_MARGIN);
+    box[2] = Math.max(box[2], (int) Math.ceil(centerX + halfWidth) + DIRTY_MARGIN);
+    box[3] = Math.max(box[3], (int) Math.ceil(centerY + halfHeight) + DIRTY_MARGIN);
+  }
 
+  // creates a transparent image the size of this panel, suited to the screen if there is one
+  private BufferedImage createLayerImage() {
+    GraphicsConfiguration configuration = getGraphicsConfiguration();
+    if (configuration != null) {
+      return configuration.createCompatibleImage(getWidth(), getHeight(),
+          Transparency.TRANSLUCENT);
     }
+    return new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_ARGB);
+  }
 
+  /**
+   * An offscreen image of a single layer, and whether it still shows the layer as it currently
+   * looks.
+   */
+  private static final class LayerImage {
 
+    private final BufferedImage image;
+    private boolean valid;
+
+    private LayerImage(BufferedImage image) {
+      this.image = image;
+      this.valid = false;
+    }
   }
 
   /**
    * Signals the panel to send actions to the given listener. Starts this panel's timer.
    *
+   * <p>The timer only tells the listener to look at the {@link PlaybackClock} of this panel
+   * through {@link #advance()}, so it fires about once per frame of the display whatever the
+   * speed is. How far the animation moves is decided by the clock.
+   *
    * @param listener the action listener
    * @throws IllegalArgumentException if the listener is null
    */
@@ -110,12 +300,44 @@ public class AnimationPanel extends JPanel {
     if (listener == null) {
       throw new IllegalArgumentException("Listener cannot be null");
     }
-    this.timer = new Timer(1000 / Math.abs(initialSpeed), listener);
+    this.timer = new Timer(FRAME_DELAY, listener);
     timer.setActionCommand("Timer Tick");
 
+    clock.start();
     timer.start();
   }
 
+  /**
+   * Gets the number of whole ticks that have passed while playing since the last time this method
+   * was called, as measured by this panel's clock. More than one tick passes if the speed is
+   * faster than the timer; the ticks in between are skipped.
+   *
+   * @return the number of ticks to move the animation by
+   */
+  public int advance() {
+    return clock.advance();
+  }
+
+  /**
+   * Gets the number of timer periods that passed without the animation moving, because drawing
+   * took longer than the timer period.
+   *
+   * @return the number of dropped frames
+   */
+  public long getDroppedFrames() {
+    return clock.getDroppedFrames();
+  }
+
+  /**
+   * Gets the part of the next tick that has passed on this panel's clock since the last call to
+   * {@link #advance()}, from 0 to 1 inclusive.
+   *
+   * @return the part of the tick that has passed
+   */
+  public double getTickFraction() {
+    return clock.fraction();
+  }
+
   /**
    * Gets the current tick value.
    *
@@ -126,7 +348,8 @@ public class AnimationPanel extends JPanel {
   }
 
   /**
-   * Sets the current tick value to the given tick.
+   * Sets the current tick value to the given tick, and repaints only the parts of this panel that
+   * look different at the new tick.
    *
    * @param tick tick value
    * @throws IllegalArgumentException if the given tick is invalid
@@ -136,35 +359,69 @@ public class AnimationPanel extends JPanel {
       throw new IllegalArgumentException("Invalid tick value");
     }
     this.tick = tick;
+    this.position = tick;
+
+    Rectangle dirty = evaluate(null);
+    if (dirty != null) {
+      repaint(dirty);
+    }
+  }
+
+  /**
+   * Sets the current tick value to the given tick, but draws the animation at the given point in
+   * time, which may lie between two whole ticks, so that playback looks smooth at any speed.
+   * Repaints only the parts of this panel that look different at the new point.
+   *
+   * @param tick     tick value
+   * @param position the point in time to draw, in ticks
+   * @throws IllegalArgumentException if the given tick or point is invalid
+   */
+  public void setTick(int tick, double position) throws IllegalArgumentException {
+    if (tick < 0 || !(position >= 0)) {
+      throw new IllegalArgumentException("Invalid tick value");
+    }
+    this.tick = tick;
+    this.position = position;
+
+    Rectangle dirty = evaluate(null);
+    if (dirty != null) {
+      repaint(dirty);
+    }
   }
 
   /**
    * Starts the timer for this panel and plays the animation.
    */
   public void play() {
+    clock.start();
     this.timer.start();
   }
 
   /**
-   * Pauses the animation.
+   * Pauses the animation, drawing it at the current whole tick.
    */
   public void pause() {
     this.timer.stop();
+    clock.stop();
+    if (position != tick) {
+      setTick(tick);
+    }
   }
 
   /**
    * Rewinds the animation and starts the timer.
    */
   public void rewind() {
+    clock.start();
     this.timer.start();
   }
 
   /**
-   * Sets the speed of this panel and adjusts the timer.
+   * Sets the speed of this panel's clock.
    *
    * @param speed speed value
    */
   public void setSpeed(int speed) {
-    this.timer.setDelay(1000 / Math.abs(speed));
+    clock.setSpeed(speed);
   }
 }
@@ -1,6 +1,7 @@
 package cs3500.animator.view;
 
 import java.awt.event.ActionListener;
+import java.io.IOException;
 
 /**
  * Functionality for a view of an animation. Supports methods for text, SVG, and GUI views. Has
@@ -34,6 +35,15 @@ public interface AnimatorView {
    */
   String getAnimationState();
 
+  /**
+   * Writes a text representation of the animation being played to the given output, one line at
+   * a time.
+   *
+   * @param out the output to write to
+   * @throws IOException if the output cannot be written to
+   */
+  void writeAnimationState(Appendable out) throws IOException;
+
   /**
    * Gets a SVG representation of the animation being played.
    *
@@ -41,6 +51,23 @@ public interface AnimatorView {
    */
   String getSVG();
 
+  /**
+   * Writes a SVG representation of the animation being played to the given output. Each shape is
+   * written as soon as it is generated, so the whole document is never held in memory.
+   *
+   * @param out the output to write to
+   * @throws IOException if the output cannot be written to
+   */
+  void writeSVG(Appendable out) throws IOException;
+
+  /**
+   * Renders every tick of the animation as an image, and writes the images to the output the view
+   * was created with.
+   *
+   * @throws IOException if the images cannot be written
+   */
+  void writeFrames() throws IOException;
+
   /**
    * Signals the view to send actions to the given listener.
    *
@@ -0,0 +1,40 @@
+package cs3500.animator.view;
+
+import java.awt.Color;
+
+/**
+ * A small, fixed size cache of {@link Color}s keyed by packed RGB value (see {@link
+ * cs3500.animator.model.shapes.PackedColor}). Each packed color maps to one slot, and a color
+ * replaces whatever was in its slot before, so the cache never grows and looking up a color that
+ * is already cached does not allocate.
+ */
+final class ColorCache {
+
+  private static final int SLOTS = 256;
+
+  private final Color[] colors;
+
+  /**
+   * Constructs an empty color cache.
+   */
+  ColorCache() {
+    this.colors = new Color[SLOTS];
+  }
+
+  /**
+   * Gets the opaque color with the given packed RGB value, creating it only if it is not cached.
+   *
+   * @param rgb the packed color, as 0xRRGGBB
+   * @return the color
+   */
+  Color get(int rgb) {
+    rgb &= 0xFFFFFF;
+    int slot = (rgb * 0x9E3779B9) >>> 24;
+    Color color = colors[slot];
+    if (color == null || (color.getRGB() & 0xFFFFFF) != rgb) {
+      color = new Color(rgb);
+      colors[slot] = color;
+    }
+    return color;
+  }
+}
@@ -51,6 +51,7 @@ public class EditorView extends VisualView implements IEditorView {
 
   private final JLabel tickLabel;
   private final JLabel speedLabel;
+  private final JLabel droppedLabel;
 
   private final JButton addShape;
   private final JButton removeShape;
@@ -128,8 +129,10 @@ public class EditorView extends VisualView implements IEditorView {
 
     tickLabel = new JLabel("Tick: ");
     speedLabel = new JLabel("Speed: ");
+    droppedLabel = new JLabel("Dropped frames: ");
     textPanel.add(tickLabel);
     textPanel.add(speedLabel);
+    textPanel.add(droppedLabel);
 
     loopBox = new JCheckBox("Looping");
     loopBox.setActionCommand("Loop Toggled");
@@ -273,18 +276,25 @@ public class EditorView extends VisualView implements IEditorView {
       return;
     }
 
-    if (looping && (drawingPanel.getTick() == model.getFinalTick())) {
+    // the panel is drawn between ticks on every timer event, and moves by whole ticks as they pass
+    int steps = drawingPanel.advance();
+    if (looping && steps > 0 && (drawingPanel.getTick() == model.getFinalTick())) {
       drawingPanel.setTick(1);
       drawingPanel.play();
     } else {
-      this.drawingPanel.setTick(drawingPanel.getTick() + deltaTick);
+      int next = Math.max(0, Math.min(model.getFinalTick(),
+          drawingPanel.getTick() + deltaTick * steps));
+      double position = next + deltaTick * drawingPanel.getTickFraction();
+      this.drawingPanel.setTick(next, Math.max(0, Math.min(model.getFinalTick(), position)));
+    }
+    if (steps == 0) {
+      return;
     }
 
     updateInfoText();
     updateSlider();
     this.fullScroll.revalidate();
     this.animationScrollPane.revalidate();
-    this.repaint();
   }
 
   // updates the slider value to the current tick value
@@ -292,9 +302,11 @@ public class EditorView extends VisualView implements IEditorView {
     this.slider.setValue(drawingPanel.getTick());
   }
 
+  // updates the tick, speed, and dropped frame labels
   private void updateInfoText() {
     this.tickLabel.setText("Tick: " + drawingPanel.getTick());
     this.speedLabel.setText("Speed: " + this.speed);
+    this.droppedLabel.setText("Dropped frames: " + drawingPanel.getDroppedFrames());
   }
 
   @Override
@@ -387,13 +399,8 @@ public class EditorView extends VisualView implements IEditorView {
 
     shapesListModel.clear();
     String layer = layersList.getSelectedValue();
-    if (layer != null) {
-      List<String> names = model.getShapeNames();
-      for (String name : names) {
-        if (model.getShapeLayer(name).equals(layer)) {
-          shapesListModel.addElement(name);
-        }
-      }
+    if (layer != null && model.getLayers().contains(layer)) {
+      shapesListModel.addAll(model.getLayerShapes(layer));
     }
   }
 
@@ -0,0 +1,379 @@
+package cs3500.animator.view;
+
+import cs3500.animator.model.Frame;
+import cs3500.animator.model.PlaybackCursor;
+import cs3500.animator.model.ReadOnlyAnimatorModel;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOInvalidTreeException;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Animated GIF based {@link AnimatorView} for an animation. Renders the ticks of the animation
+ * with the same drawing rules as {@link AnimationPanel}, without opening a window, and encodes
+ * them as a single animated GIF through {@code javax.imageio}. Does not support text/SVG/GUI
+ * functionality.
+ *
+ * <p>Only what changes is written. A tick whose shapes look exactly the same as at the tick
+ * before is not drawn at all, and ticks that look the same are merged into one GIF frame that is
+ * shown for longer. Every other frame holds only the smallest rectangle of pixels that changed,
+ * placed at its offset over the frame before it, which is left in place. Each frame is shown for
+ * at least two hundredths of a second, so at high speeds a frame shows the last of the ticks that
+ * fall within that time. The GIF loops forever, like the animation does on screen.
+ */
+public class GIFView implements AnimatorView {
+
+  // the name of the metadata format used to describe each GIF frame
+  private static final String FORMAT = "javax_imageio_gif_image_1.0";
+
+  // the shortest time a frame is shown for, in hundredths of a second; viewers show frames with
+  // shorter delays for far longer, which would slow fast animations down
+  private static final int MIN_DELAY = 2;
+
+  private final ReadOnlyAnimatorModel model;
+  private final int speed;
+  private final String output;
+
+  /**
+   * Constructs an animated GIF based view for an animation that writes to the given file.
+   *
+   * @param model  the read only animation model
+   * @param speed  the speed to play at (ticks per second)
+   * @param output the name of the file to write, or null to write to System.out
+   * @throws IllegalArgumentException if the model is null, or the speed is not positive
+   */
+  public GIFView(ReadOnlyAnimatorModel model, int speed, String output)
+      throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    if (speed <= 0) {
+      throw new IllegalArgumentException("Invalid speed");
+    }
+    this.model = model;
+    this.speed = speed;
+    this.output = output;
+  }
+
+  @Override
+  public void writeFrames() throws IOException {
+    if (output == null) {
+      writeGIF(System.out);
+      System.out.flush();
+    } else {
+      try (OutputStream out = new FileOutputStream(output)) {
+        writeGIF(out);
+      }
+    }
+  }
+
+  /**
+   * Writes the animation as an animated GIF to the given stream.
+   *
+   * @param out the stream to write to
+   * @throws IOException if the stream cannot be written to
+   * @throws IllegalArgumentException if the stream is null
+   */
+  public void writeGIF(OutputStream out) throws IOException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("gif");
+    if (!writers.hasNext()) {
+      throw new IOException("Cannot write GIF images");
+    }
+    ImageWriter writer = writers.next();
+
+    int width = Math.max(1, model.getWidth() + model.getLeftX());
+    int height = Math.max(1, model.getHeight() + model.getTopY());
+    int finalTick = model.getFinalTick();
+
+    try (ImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)) {
+      writer.setOutput(imageOut);
+      writer.prepareWriteSequence(null);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+
+      // the image shown by the GIF so far, and the image of the current tick
+      BufferedImage shown = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      BufferedImage current = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      ShapePainter painter = new ShapePainter();
+      PlaybackCursor cursor = model.cursor();
+      Frame frame = new Frame();
+      Frame previous = new Frame();
+
+      // the frame waiting to be written until it is known how long it is shown for
+      BufferedImage pending = null;
+      int[] pendingBox = null;
+      int pendingTick = 0;
+      boolean first = true;
+
+      for (int tick = 0; tick <= finalTick; tick++) {
+        Frame last = previous;
+        previous = frame;
+        frame = last;
+        cursor.frameAt(tick, frame);
+        if (pending != null && sameFrame(frame, previous)) {
+          continue;
+        }
+
+        draw(current, frame, painter);
+        int[] box = pending == null ? new int[]{0, 0, width, height} : changedBox(shown, current);
+        if (box == null) {
+          continue;
+        }
+
+        if (pending != null && time(tick) - time(pendingTick) < MIN_DELAY) {
+          // the frame waiting would be shown too briefly, so it shows this tick instead; outside
+          // its box it is the same as the image before it, so only the two boxes can differ
+          box = union(pendingBox, box);
+        } else {
+          if (pending != null) {
+            writeFrame(writer, param, pending, pendingBox, pendingTick, tick, first);
+            first = false;
+          }
+          pendingTick = tick;
+        }
+        pending = copy(current, box);
+        pendingBox = box;
+
+        BufferedImage swap = shown;
+        shown = current;
+        current = swap;
+      }
+      writeFrame(writer, param, pending, pendingBox, pendingTick, finalTick + 1, first);
+
+      writer.endWriteSequence();
+    } finally {
+      writer.dispose();
+    }
+  }
+
+  // determines if the two frames look exactly the same
+  private static boolean sameFrame(Frame frame, Frame other) {
+    if (!frame.sameLayers(other)) {
+      return false;
+    }
+    for (int layer = 0; layer < frame.layerCount(); layer++) {
+      if (!frame.sameLayer(layer, other)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // draws the frame over a white background onto the image
+  private static void draw(BufferedImage image, Frame frame, ShapePainter painter) {
+    Graphics2D graphics2D = image.createGraphics();
+    graphics2D.setColor(Color.white);
+    graphics2D.fillRect(0, 0, image.getWidth(), image.getHeight());
+    painter.paint(graphics2D, frame, 0, frame.size());
+    graphics2D.dispose();
+  }
+
+  // finds the smallest rectangle holding every pixel that differs between the two images, as its
+  // left, top, width and height, or null if the images are the same
+  private static int[] changedBox(BufferedImage before, BufferedImage after) {
+    int width = before.getWidth();
+    int height = before.getHeight();
+    int[] a = ((DataBufferInt) before.getRaster().getDataBuffer()).getData();
+    int[] b = ((DataBufferInt) after.getRaster().getDataBuffer()).getData();
+
+    int top = 0;
+    while (top < height && sameRow(a, b, top * width, width)) {
+      top++;
+    }
+    if (top == height) {
+      return null;
+    }
+    int bottom = height - 1;
+    while (sameRow(a, b, bottom * width, width)) {
+      bottom--;
+    }
+
+    int left = width;
+    int right = -1;
+    for (int y = top; y <= bottom; y++) {
+      int row = y * width;
+      int x = 0;
+      while (x < left && a[row + x] == b[row + x]) {
+        x++;
+      }
+      left = Math.min(left, x);
+      x = width - 1;
+      while (x > right && a[row + x] == b[row + x]) {
+        x--;
+      }
+      right = Math.max(right, x);
+    }
+    return new int[]{left, top, right - left + 1, bottom - top + 1};
+  }
+
+  // determines if a row of pixels starting at the given index is the same in both arrays
+  private static boolean sameRow(int[] a, int[] b, int start, int width) {
+    for (int i = start; i < start + width; i++) {
+      if (a[i] != b[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // finds the smallest rectangle holding both of the given rectangles
+  private static int[] union(int[] box, int[] other) {
+    int left = Math.min(box[0], other[0]);
+    int top = Math.min(box[1], other[1]);
+    int right = Math.max(box[0] + box[2], other[0] + other[2]);
+    int bottom = Math.max(box[1] + box[3], other[1] + other[3]);
+    return new int[]{left, top, right - left, bottom - top};
+  }
+
+  // computes the time the given tick starts at, in hundredths of a second; frame delays are
+  // measured from the start, so that rounding does not add up
+  private long time(int tick) {
+    return Math.round(100.0 * tick / speed);
+  }
+
+  // copies the given rectangle of the image into a new image
+  private static BufferedImage copy(BufferedImage image, int[] box) {
+    BufferedImage result = new BufferedImage(box[2], box[3], BufferedImage.TYPE_INT_RGB);
+    result.getRaster().setRect(-box[0], -box[1], image.getRaster());
+    return result;
+  }
+
+  // writes the image as a GIF frame placed at the box, shown from the first tick until the second,
+  // and makes the GIF loop forever if it is the first frame
+  private void writeFrame(ImageWriter writer, ImageWriteParam param, BufferedImage image,
+      int[] box, int fromTick, int toTick, boolean first) throws IOException {
+    IIOMetadata metadata = writer.getDefaultImageMetadata(
+        ImageTypeSpecifier.createFromRenderedImage(image), param);
+    IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(FORMAT);
+
+    IIOMetadataNode descriptor = child(root, "ImageDescriptor");
+    descriptor.setAttribute("imageLeftPosition", Integer.toString(box[0]));
+    descriptor.setAttribute("imageTopPosition", Integer.toString(box[1]));
+    descriptor.setAttribute("imageWidth", Integer.toString(box[2]));
+    descriptor.setAttribute("imageHeight", Integer.toString(box[3]));
+    descriptor.setAttribute("interlaceFlag", "FALSE");
+
+    IIOMetadataNode control = child(root, "GraphicControlExtension");
+    control.setAttribute("disposalMethod", "doNotDispose");
+    control.setAttribute("userInputFlag", "FALSE");
+    control.setAttribute("transparentColorFlag", "FALSE");
+    control.setAttribute("transparentColorIndex", "0");
+    control.setAttribute("delayTime",
+        Long.toString(Math.max(MIN_DELAY, time(toTick) - time(fromTick))));
+
+    if (first) {
+      // a loop count of 0 repeats forever
+      IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+      loop.setAttribute("applicationID", "NETSCAPE");
+      loop.setAttribute("authenticationCode", "2.0");
+      loop.setUserObject(new byte[]{1, 0, 0});
+      child(root, "ApplicationExtensions").appendChild(loop);
+    }
+
+    try {
+      metadata.setFromTree(FORMAT, root);
+    } catch (IIOInvalidTreeException e) {
+      throw new IOException("Cannot describe GIF frame", e);
+    }
+    writer.writeToSequence(new IIOImage(image, null, metadata), param);
+  }
+
+  // gets the child of the metadata node with the given name, adding it if there is none
+  private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+    for (int i = 0; i < root.getLength(); i++) {
+      if (root.item(i).getNodeName().equals(name)) {
+        return (IIOMetadataNode) root.item(i);
+      }
+    }
+    IIOMetadataNode node = new IIOMetadataNode(name);
+    root.appendChild(node);
+    return node;
+  }
+
+  @Override
+  public void makeVisible() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void refresh() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void showErrorMessage(String error) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public String getAnimationState() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeAnimationState(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public String getSVG() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeSVG(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void setActionListener(ActionListener listener) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void speedUp() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void slowDown() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void play() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void pause() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void rewind() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void restart() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+}
@@ -0,0 +1,220 @@
+package cs3500.animator.view;
+
+import cs3500.animator.model.Frame;
+import cs3500.animator.model.PlaybackCursor;
+import cs3500.animator.model.ReadOnlyAnimatorModel;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Image based {@link AnimatorView} for an animation. Renders every tick of the animation to a
+ * numbered PNG file, with the same drawing rules as {@link AnimationPanel}, without opening a
+ * window. Does not support text/SVG/GUI functionality.
+ *
+ * <p>The files are named after the output given to the view followed by the tick, padded with
+ * zeros so that they sort in order (e.g. "frame0000.png"). If the output is a directory, the files
+ * are written into it as "frame0000.png" and so on.
+ *
+ * <p>Frames are rendered concurrently on the common {@link ForkJoinPool}. The ticks are split into
+ * runs of consecutive ticks, and each run is rendered by one task with its own {@link
+ * PlaybackCursor}, frame, and image, so the model is only read. Every tick is always written to
+ * the same file, so the output does not depend on the order the tasks run in.
+ */
+public class PNGView implements AnimatorView {
+
+  // the prefix of the file names when no output is given, or the output is a directory
+  private static final String DEFAULT_NAME = "frame";
+
+  // the fewest digits used to number the files
+  private static final int MIN_DIGITS = 4;
+
+  // the number of runs of ticks made for each thread, so that threads that finish early can help
+  private static final int RUNS_PER_THREAD = 4;
+
+  private final ReadOnlyAnimatorModel model;
+  private final String output;
+
+  /**
+   * Constructs an image based view for an animation that writes its files to the given output.
+   *
+   * @param model  the read only animation model
+   * @param output the directory or prefix of the files to write, or null to write files named
+   *               "frame0000.png" and so on to the working directory
+   * @throws IllegalArgumentException if the model is null
+   */
+  public PNGView(ReadOnlyAnimatorModel model, String output) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    this.model = model;
+    this.output = output;
+  }
+
+  @Override
+  public void writeFrames() throws IOException {
+    int count = model.getFinalTick() + 1;
+    int width = Math.max(1, model.getWidth() + model.getLeftX());
+    int height = Math.max(1, model.getHeight() + model.getTopY());
+
+    String prefix = output == null ? DEFAULT_NAME : output;
+    if (output != null && new File(output).isDirectory()) {
+      prefix = new File(output, DEFAULT_NAME).getPath();
+    }
+    String format = "%s%0" + Math.max(MIN_DIGITS, Integer.toString(count - 1).length()) + "d.png";
+
+    // the cursors are made here, so that the tasks only read the model
+    int runs = Math.min(count, ForkJoinPool.getCommonPoolParallelism() * RUNS_PER_THREAD);
+    List<RenderTask> tasks = new ArrayList<>();
+    for (int run = 0; run < runs; run++) {
+      int from = (int) ((long) count * run / runs);
+      int to = (int) ((long) count * (run + 1) / runs);
+      tasks.add(new RenderTask(model.cursor(), from, to, width, height, prefix, format));
+    }
+
+    try {
+      ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Renders a run of consecutive ticks to PNG files.
+   */
+  private static final class RenderTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PlaybackCursor cursor;
+    private final int from;
+    private final int to;
+    private final int width;
+    private final int height;
+    private final String prefix;
+    private final String format;
+
+    private RenderTask(PlaybackCursor cursor, int from, int to, int width, int height,
+        String prefix, String format) {
+      this.cursor = cursor;
+      this.from = from;
+      this.to = to;
+      this.width = width;
+      this.height = height;
+      this.prefix = prefix;
+      this.format = format;
+    }
+
+    @Override
+    protected void compute() {
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Frame frame = new Frame();
+      ShapePainter painter = new ShapePainter();
+
+      for (int tick = from; tick < to; tick++) {
+        cursor.frameAt(tick, frame);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setColor(Color.white);
+        graphics2D.fillRect(0, 0, width, height);
+        painter.paint(graphics2D, frame, 0, frame.size());
+        graphics2D.dispose();
+
+        // written through a stream of our own, so that failures to open the file are reported as
+        // exceptions and no temporary cache file is made
+        File file = new File(String.format(format, prefix, tick));
+        try (OutputStream out = new FileOutputStream(file);
+            ImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)) {
+          if (!ImageIO.write(image, "png", imageOut)) {
+            throw new IOException("Cannot write PNG images");
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void makeVisible() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void refresh() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void showErrorMessage(String error) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public String getAnimationState() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeAnimationState(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public String getSVG() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeSVG(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void setActionListener(ActionListener listener) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void speedUp() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void slowDown() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void play() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void pause() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void rewind() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void restart() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+}
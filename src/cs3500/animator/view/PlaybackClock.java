@@ -0,0 +1,190 @@
+package cs3500.animator.view;
+
+/**
+ * Represents the clock that decides how far an animation has played. The position of the clock is
+ * computed from the time that has passed since it was started and the speed it runs at, so it
+ * keeps the requested number of ticks per second however often it is looked at.
+ *
+ * <p>Each call to {@link #advance()} reports how many whole ticks have passed since the call
+ * before; at speeds above the frame rate several ticks pass between calls, and the ticks in between
+ * are skipped rather than played late. The clock expects to be advanced once every frame period,
+ * and counts a dropped frame for each whole frame period beyond the first that passes between two
+ * calls, which only happens when drawing cannot keep up.
+ */
+public class PlaybackClock {
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+
+  // the frame period used when none is given, about one frame of a 60 Hz display
+  private static final int DEFAULT_FRAME_PERIOD = 16;
+
+  private final long framePeriodNanos;
+
+  private int speed;
+  private boolean running;
+
+  // the position in ticks when the clock was last started or changed speed, and the time of that
+  private double anchorPosition;
+  private long anchorNanos;
+
+  // the whole number of ticks already reported by advance, and the time advance was last called
+  // while running
+  private long consumed;
+  private long lastAdvanceNanos;
+  private long droppedFrames;
+
+  /**
+   * Constructs a stopped clock at position 0 that runs at the given speed, and expects to be
+   * advanced about 60 times per second.
+   *
+   * @param speed the speed (ticks per second), of which only the magnitude is used
+   */
+  public PlaybackClock(int speed) {
+    this(speed, DEFAULT_FRAME_PERIOD);
+  }
+
+  /**
+   * Constructs a stopped clock at position 0 that runs at the given speed, and expects to be
+   * advanced once every given frame period.
+   *
+   * @param speed       the speed (ticks per second), of which only the magnitude is used
+   * @param framePeriod the time between two calls to {@link #advance()} (milliseconds)
+   * @throws IllegalArgumentException if the frame period is not positive
+   */
+  public PlaybackClock(int speed, int framePeriod) throws IllegalArgumentException {
+    if (framePeriod <= 0) {
+      throw new IllegalArgumentException("Invalid frame period");
+    }
+    this.framePeriodNanos = framePeriod * NANOS_PER_MILLI;
+    this.speed = Math.abs(speed);
+    this.running = false;
+    this.anchorPosition = 0;
+    this.anchorNanos = 0;
+    this.consumed = 0;
+    this.lastAdvanceNanos = 0;
+    this.droppedFrames = 0;
+  }
+
+  /**
+   * Gets the current time of this clock. Uses {@link System#nanoTime()} by default.
+   *
+   * @return the current time in nanoseconds
+   */
+  protected long nanoTime() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Starts this clock, or keeps it running if it already is.
+   */
+  public void start() {
+    if (!running) {
+      anchorNanos = nanoTime();
+      lastAdvanceNanos = anchorNanos;
+      running = true;
+    }
+  }
+
+  /**
+   * Stops this clock, keeping its position until it is started again.
+   */
+  public void stop() {
+    if (running) {
+      anchorPosition = position();
+      running = false;
+    }
+  }
+
+  /**
+   * Determines if this clock is running.
+   *
+   * @return true if the clock is running
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Sets the speed of this clock. The position of the clock is kept, so changing the speed does
+   * not make the animation jump.
+   *
+   * @param speed the speed (ticks per second), of which only the magnitude is used
+   */
+  public void setSpeed(int speed) {
+    if (running) {
+      long now = nanoTime();
+      anchorPosition = position(now);
+      anchorNanos = now;
+    }
+    this.speed = Math.abs(speed);
+  }
+
+  /**
+   * Gets the speed of this clock.
+   *
+   * @return the speed (ticks per second)
+   */
+  public int getSpeed() {
+    return speed;
+  }
+
+  /**
+   * Gets the number of ticks that have passed on this clock, including the part of the current
+   * tick that has passed.
+   *
+   * @return the position in ticks
+   */
+  public double position() {
+    return running ? position(nanoTime()) : anchorPosition;
+  }
+
+  // gets the position in ticks at the given time, while running
+  private double position(long now) {
+    return anchorPosition + (now - anchorNanos) * (double) speed / NANOS_PER_SECOND;
+  }
+
+  /**
+   * Gets the number of whole ticks that have passed since the last time this method was called.
+   * If more than one frame period has passed since then while running, every whole frame period
+   * past the first is counted as a dropped frame.
+   *
+   * @return the number of ticks that have passed
+   */
+  public int advance() {
+    if (running) {
+      long now = nanoTime();
+      long periods = (now - lastAdvanceNanos) / framePeriodNanos;
+      if (periods > 1) {
+        droppedFrames += periods - 1;
+      }
+      lastAdvanceNanos = now;
+    }
+
+    long whole = (long) Math.floor(running ? position(lastAdvanceNanos) : anchorPosition);
+    long steps = whole - consumed;
+    consumed = whole;
+    return (int) Math.min(Integer.MAX_VALUE, steps);
+  }
+
+  /**
+   * Gets the part of the next tick that has passed since the last call to {@link #advance()}, as
+   * a value from 0 to 1 inclusive. Used to draw the animation between ticks.
+   *
+   * @return the part of the tick that has passed
+   */
+  public double fraction() {
+    return Math.max(0, Math.min(1, position() - consumed));
+  }
+
+  /**
+   * Gets the number of frame periods that passed without this clock being advanced, because the
+   * animation was still being drawn.
+   *
+   * @return the number of dropped frames
+   */
+  public long getDroppedFrames() {
+    return droppedFrames;
+  }
+}
@@ -2,7 +2,8 @@ package cs3500.animator.view;
 
 import cs3500.animator.model.ReadOnlyAnimatorModel;
 import cs3500.animator.model.action.Action;
-import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeState;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -25,18 +26,23 @@ public class SVGRotationView extends SVGView {
   }
 
   @Override
-  protected void addAnimateTags(StringBuilder result, String shapeName, String shapeType) {
+  protected void addAnimateTags(Appendable result, String shapeName, String shapeType)
+      throws IOException {
 
     List<Action> actions = model.getShapeActions(shapeName);
+    List<ShapeState> states = model.getShapeActionStates(shapeName);
+    ShapeState shapeAt0 = null;
 
     for (int i = 0; i < actions.size() - 1; i++) {
       Action currentAction = actions.get(i);
       Action nextAction = actions.get(i + 1);
 
       if (currentAction.getToDegrees() != nextAction.getToDegrees()) {
-        IShape shapeAt0 = model.shapeAt(shapeName, 0);
-        IShape shapeBefore = model.shapeAt(shapeName, currentAction.getFirstTick());
-        IShape shapeAfter = model.shapeAt(shapeName, nextAction.getFirstTick());
+        if (shapeAt0 == null) {
+          shapeAt0 = model.shapeStateAt(shapeName, 0);
+        }
+        ShapeState shapeBefore = states.get(2 * i);
+        ShapeState shapeAfter = states.get(2 * (i + 1));
 
         int begin = currentAction.getFirstTick() * (1000 * 1000 / speed);
         int dur = (nextAction.getFinalTick() * (1000 * 1000 / speed)) - begin;
@@ -51,11 +57,11 @@ public class SVGRotationView extends SVGView {
                       + "from=\"%d %d %d\" to=\"%d %d %d\" dur=\"%dms\" repeatCount=\"1\">"
                       + "</animateTransform>\n",
                   shapeBefore.getRotation(),
-                  (int) (shapeAt0.getCurrentPosition().getX()),
-                  (int) (shapeAt0.getCurrentPosition().getY()),
+                  (int) (shapeAt0.getX()),
+                  (int) (shapeAt0.getY()),
                   shapeAfter.getRotation(),
-                  (int) (shapeAt0.getCurrentPosition().getX()),
-                  (int) (shapeAt0.getCurrentPosition().getY()),
+                  (int) (shapeAt0.getX()),
+                  (int) (shapeAt0.getY()),
                   dur));
               break;
 
@@ -67,11 +73,11 @@ public class SVGRotationView extends SVGView {
                       + "</animateTransform>\n",
                   begin,
                   shapeBefore.getRotation(),
-                  (int) (shapeAt0.getCurrentPosition().getX() + shapeAt0.getWidth() * .5),
-                  (int) (shapeAt0.getCurrentPosition().getY() + shapeAt0.getHeight() * .5),
+                  (int) (shapeAt0.getX() + shapeAt0.getWidth() * .5),
+                  (int) (shapeAt0.getY() + shapeAt0.getHeight() * .5),
                   shapeAfter.getRotation(),
-                  (int) (shapeAt0.getCurrentPosition().getX() + shapeAt0.getWidth() * .5),
-                  (int) (shapeAt0.getCurrentPosition().getY() + shapeAt0.getHeight() * .5),
+                  (int) (shapeAt0.getX() + shapeAt0.getWidth() * .5),
+                  (int) (shapeAt0.getY() + shapeAt0.getHeight() * .5),
                   dur));
               break;
             default:
@@ -1,9 +1,11 @@
 package cs3500.animator.view;
 
 import cs3500.animator.model.action.Action;
-import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeState;
 import cs3500.animator.model.ReadOnlyAnimatorModel;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * SVG based {@link AnimatorView} for an animation. Provides functionality to view an animation in
@@ -36,23 +38,36 @@ public class SVGView implements AnimatorView {
 
   @Override
   public String getSVG() {
-    StringBuilder result = new StringBuilder("");
+    StringBuilder result = new StringBuilder();
+    try {
+      writeSVG(result);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot build SVG");
+    }
+    return result.toString();
+  }
+
+  @Override
+  public void writeSVG(Appendable result) throws IOException {
+    if (result == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
 
     result.append(
         "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + (model.getWidth() + model.getLeftX())
             + "\" height=\"" + (model.getHeight() + model.getTopY()) + "\" version=\"1.1\">\n");
 
     for (String shapeName : model.getShapeNames()) {
-      IShape shape = model.shapeAt(shapeName, 0);
-      switch (shape.toString()) {
+      ShapeState shape = model.shapeStateAt(shapeName, 0);
+      switch (shape.getType()) {
         case "rectangle":
           result.append(String.format(
               "\t<rect id=\"%s\" x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill="
                   + "\"rgb(%d,%d,%d)\" visibility=\"%s\">\n",
-              shapeName, (int) shape.getCurrentPosition().getX(),
-              (int) shape.getCurrentPosition().getY(), (int) shape.getWidth(),
-              (int) shape.getHeight(), (int) shape.getColor().getRed(),
-              (int) shape.getColor().getGreen(), (int) shape.getColor().getBlue(), "visible"));
+              shapeName, (int) shape.getX(),
+              (int) shape.getY(), (int) shape.getWidth(),
+              (int) shape.getHeight(), (int) shape.getRed(),
+              (int) shape.getGreen(), (int) shape.getBlue(), "visible"));
 
           addAnimateTags(result, shapeName, "rectangle");
 
@@ -62,10 +77,10 @@ public class SVGView implements AnimatorView {
           result.append(String.format(
               "\t<ellipse id=\"%s\" cx=\"%d\" cy=\"%d\" rx=\"%d\" ry=\"%d\" "
                   + "fill=\"rgb(%d,%d,%d)\" visibility=\"%s\">\n",
-              shapeName, (int) shape.getCurrentPosition().getX(),
-              (int) shape.getCurrentPosition().getY(), (int) (shape.getWidth() * .5),
-              (int) (shape.getHeight() * .5), (int) shape.getColor().getRed(),
-              (int) shape.getColor().getGreen(), (int) shape.getColor().getBlue(), "visible"));
+              shapeName, (int) shape.getX(),
+              (int) shape.getY(), (int) (shape.getWidth() * .5),
+              (int) (shape.getHeight() * .5), (int) shape.getRed(),
+              (int) shape.getGreen(), (int) shape.getBlue(), "visible"));
 
           addAnimateTags(result, shapeName, "ellipse");
 
@@ -78,11 +93,10 @@ public class SVGView implements AnimatorView {
     }
 
     result.append("</svg>");
-
-    return result.toString();
   }
 
-  protected void addAnimateTags(StringBuilder result, String shapeName, String shapeType) {
+  protected void addAnimateTags(Appendable result, String shapeName, String shapeType)
+      throws IOException {
     String xAttribute;
     String yAttribute;
     String widthAttribute;
@@ -106,10 +120,13 @@ public class SVGView implements AnimatorView {
       default:
         return;
     }
-    for (Action a : model.getShapeActions(shapeName)) {
+    List<Action> actions = model.getShapeActions(shapeName);
+    List<ShapeState> states = model.getShapeActionStates(shapeName);
+    for (int i = 0; i < actions.size(); i++) {
+      Action a = actions.get(i);
 
-      IShape shapeBefore = model.shapeAt(shapeName, a.getFirstTick());
-      IShape shapeAfter = model.shapeAt(shapeName, a.getFinalTick());
+      ShapeState shapeBefore = states.get(2 * i);
+      ShapeState shapeAfter = states.get(2 * i + 1);
 
       int begin = a.getFirstTick() * (1000 * 1000 / speed);
       int dur = (a.getFinalTick() * (1000 * 1000 / speed)) - begin;
@@ -136,33 +153,33 @@ public class SVGView implements AnimatorView {
                 : (int) (shapeAfter.getHeight() * .5)));
       }
 
-      if (Math.abs(shapeBefore.getCurrentPosition().getX() - shapeAfter.getCurrentPosition().getX())
+      if (Math.abs(shapeBefore.getX() - shapeAfter.getX())
           > .0001) {
         result.append(String.format(
             "\t\t<animate attributeType=\"xml\" begin=\"%dms\" dur=\"%dms\""
                 + " attributeName=\"%s\" from=\"%d\" to=\"%d\" fill=\"freeze\"/>\n",
-            begin, dur, xAttribute, (int) shapeBefore.getCurrentPosition().getX(),
-            (int) shapeAfter.getCurrentPosition().getX()));
+            begin, dur, xAttribute, (int) shapeBefore.getX(),
+            (int) shapeAfter.getX()));
       }
 
-      if (Math.abs(shapeBefore.getCurrentPosition().getY() - shapeAfter.getCurrentPosition().getY())
+      if (Math.abs(shapeBefore.getY() - shapeAfter.getY())
           > .0001) {
         result.append(String.format(
             "\t\t<animate attributeType=\"xml\" begin=\"%dms\" dur=\"%dms\""
                 + " attributeName=\"%s\" from=\"%d\" to=\"%d\" fill=\"freeze\"/>\n",
-            begin, dur, yAttribute, (int) shapeBefore.getCurrentPosition().getY(),
-            (int) shapeAfter.getCurrentPosition().getY()));
+            begin, dur, yAttribute, (int) shapeBefore.getY(),
+            (int) shapeAfter.getY()));
       }
 
-      if (!shapeBefore.getColor().equals(shapeAfter.getColor())) {
+      if (!shapeBefore.sameColor(shapeAfter)) {
         result.append(String.format(
             "\t\t<animate attributeType=\"css\" begin=\"%dms\" dur=\"%dms\" "
                 + "attributeName=\"%s\" from=\"rgb(%d,%d,%d)\" "
                 + "to=\"rgb(%d,%d,%d)\" fill=\"freeze\"/>\n",
-            begin, dur, "fill", (int) shapeBefore.getColor().getRed(),
-            (int) shapeBefore.getColor().getGreen(), (int) shapeBefore.getColor().getBlue(),
-            (int) shapeAfter.getColor().getRed(), (int) shapeAfter.getColor().getGreen(),
-            (int) shapeAfter.getColor().getBlue()));
+            begin, dur, "fill", (int) shapeBefore.getRed(),
+            (int) shapeBefore.getGreen(), (int) shapeBefore.getBlue(),
+            (int) shapeAfter.getRed(), (int) shapeAfter.getGreen(),
+            (int) shapeAfter.getBlue()));
       }
 
     }
@@ -189,6 +206,16 @@ public class SVGView implements AnimatorView {
     throw new UnsupportedOperationException("Operation not supported");
   }
 
+  @Override
+  public void writeAnimationState(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeFrames() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
   @Override
   public void setActionListener(ActionListener listener) {
     throw new UnsupportedOperationException("Operation not supported");
@@ -0,0 +1,109 @@
+package cs3500.animator.view;
+
+import cs3500.animator.model.Frame;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Draws the shapes of a {@link Frame} onto a graphics context. These are the drawing rules shared
+ * by every view that draws an animation as pixels, so that the screen and exported images look
+ * the same.
+ *
+ * <p>Each shape is rotated about its center and filled with its color. Frames between two whole
+ * ticks are drawn with antialiased shapes at their exact position; frames at whole ticks are drawn
+ * on whole pixels, unless the painter is made to draw every frame exactly. A painter keeps a
+ * {@link ColorCache} and reusable shapes, so it must only be used by one thread at a time.
+ */
+final class ShapePainter {
+
+  private final boolean exact;
+  private final ColorCache colors;
+  private final Rectangle2D.Double rectangle;
+  private final Ellipse2D.Double ellipse;
+
+  /**
+   * Constructs a painter with an empty color cache that draws frames at whole ticks on whole
+   * pixels.
+   */
+  ShapePainter() {
+    this(false);
+  }
+
+  /**
+   * Constructs a painter with an empty color cache.
+   *
+   * @param exact whether to draw frames at whole ticks antialiased at their exact position too,
+   *              so that every frame is drawn the same way
+   */
+  ShapePainter(boolean exact) {
+    this.exact = exact;
+    this.colors = new ColorCache();
+    this.rectangle = new Rectangle2D.Double();
+    this.ellipse = new Ellipse2D.Double();
+  }
+
+  /**
+   * Draws the shapes of the frame from the start index up to the end index, in order.
+   *
+   * @param graphics2D the graphics to draw with
+   * @param frame      the frame to draw
+   * @param start      the index of the first shape to draw
+   * @param end        the index after the last shape to draw
+   * @throws IllegalStateException if a shape is of a type that cannot be drawn
+   */
+  void paint(Graphics2D graphics2D, Frame frame, int start, int end)
+      throws IllegalStateException {
+    AffineTransform transform = graphics2D.getTransform();
+    boolean exact = this.exact || frame.isBetweenTicks();
+    Object antialiasing = graphics2D.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+    Object strokeControl = graphics2D.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+    if (exact) {
+      graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+          RenderingHints.VALUE_ANTIALIAS_ON);
+      graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+          RenderingHints.VALUE_STROKE_PURE);
+    }
+
+    for (int i = start; i < end; i++) {
+      double xA = frame.getX(i);
+      double yA = frame.getY(i);
+      double wA = frame.getWidth(i);
+      double hA = frame.getHeight(i);
+
+      graphics2D.rotate(-1 * Math.toRadians(frame.getRotation(i)), xA + wA / 2, yA + hA / 2);
+
+      graphics2D.setColor(colors.get(frame.getColor(i)));
+
+      switch (frame.getType(i)) {
+        case "rectangle":
+          if (exact) {
+            rectangle.setRect(xA, yA, wA, hA);
+            graphics2D.fill(rectangle);
+          } else {
+            graphics2D.fillRect((int) (xA), (int) (yA), (int) (wA), (int) (hA));
+          }
+          break;
+        case "ellipse":
+          if (exact) {
+            ellipse.setFrame(xA, yA, wA, hA);
+            graphics2D.fill(ellipse);
+          } else {
+            graphics2D.fillOval((int) (xA), (int) (yA), (int) (wA), (int) (hA));
+          }
+          break;
+        default:
+          throw new IllegalStateException("Cannot draw given shape");
+      }
+
+      graphics2D.setTransform(transform);
+    }
+
+    if (exact) {
+      graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+      graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, strokeControl);
+    }
+  }
+}
@@ -3,9 +3,11 @@ package cs3500.animator.view;
 import cs3500.animator.model.action.Action;
 import cs3500.animator.model.shapes.IColor;
 import cs3500.animator.model.shapes.IPosition;
-import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeState;
 import cs3500.animator.model.ReadOnlyAnimatorModel;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * Text based {@link AnimatorView} for an animation. Provides functionality to get the animation
@@ -13,6 +15,12 @@ import java.awt.event.ActionListener;
  */
 public class TextView implements AnimatorView {
 
+  private static final String TITLE = String.format(
+      "%-8s %-10s %-5s %-4s %-4s %-4s %-4s %-4s %-4s %-4s \t\t "
+          + "%-5s %-4s %-4s %-4s %-4s %-4s %-4s %-4s\n",
+      "action", "Name", "t", "X", "Y", "W", "H", "R", "G", "B", "t", "X", "Y", "W", "H", "R", "G",
+      "B");
+
   private final ReadOnlyAnimatorModel model;
 
   /**
@@ -45,55 +53,155 @@ public class TextView implements AnimatorView {
 
   @Override
   public String getAnimationState() {
-    return this.getState();
+    StringBuilder result = new StringBuilder();
+    try {
+      writeAnimationState(result);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot build animation state");
+    }
+    return result.toString();
   }
 
-  private String getState() {
-    StringBuilder result = new StringBuilder("");
-    result.append(String
-        .format("canvas %d %d %d %d\n", model.getLeftX(), model.getTopY(), model.getWidth(),
-            model.getHeight()));
-    String titleTemplate = "%-8s %-10s %-5s %-4s %-4s %-4s %-4s %-4s %-4s %-4s \t\t "
-        + "%-5s %-4s %-4s %-4s %-4s %-4s %-4s %-4s\n";
-    String shapeTemplate = "%-8s %-10s %s\n";
-    result.append(String.format(titleTemplate,
-        "action", "Name", "t", "X", "Y", "W", "H", "R", "G", "B", "t", "X", "Y", "W", "H", "R", "G",
-        "B"));
+  @Override
+  public void writeAnimationState(Appendable out) throws IOException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
 
-    for (String name : model.getShapeNames()) {
+    TrimmedWriter writer = new TrimmedWriter(out);
+    StringBuilder line = new StringBuilder();
+    line.append("canvas ").append(model.getLeftX()).append(' ').append(model.getTopY())
+        .append(' ').append(model.getWidth()).append(' ').append(model.getHeight()).append('\n');
+    writer.write(line);
+    writer.write(TITLE);
 
-      IShape shape = model.shapeAt(name, 0);
+    for (String name : model.getShapeNames()) {
 
-      result.append(String.format(shapeTemplate, "shape", name, shape.toString()));
+      ShapeState shape = model.shapeStateAt(name, 0);
 
-      for (Action a : model.getShapeActions(name)) {
+      line.setLength(0);
+      column(line, "shape", 8).append(' ');
+      column(line, name, 10).append(' ').append(shape.getType()).append('\n');
+      writer.write(line);
 
-        IShape shapeMutated = model.shapeAt(a.getShapeName(), a.getFirstTick());
-        IPosition mutatedPosition = shapeMutated.getCurrentPosition();
-        IColor mutatedColor = shapeMutated.getColor();
+      // the shape at the start of each action, found in one pass over the shape's actions
+      List<Action> actions = model.getShapeActions(name);
+      List<ShapeState> states = model.getShapeActionStates(name);
+      for (int i = 0; i < actions.size(); i++) {
+        Action a = actions.get(i);
+        ShapeState shapeMutated = states.get(2 * i);
+        IPosition toPosition = a.getToPosition();
+        IColor toColor = a.getToColor();
 
         // motion name tick1 x y w h r g b   t2 x y w h r g b
-        String temp = "%-8s %-10s %-5d %-4.0f %-4.0f %-4.0f %-4.0f %-4d %-4d %-4d \t\t "
-            + "%-5d %-4.0f %-4.0f %-4.0f %-4.0f %-4d %-4d %-4d\n";
-
-        String formatted = String.format(temp,
-            "motion", a.getShapeName(), a.getFirstTick(),
-            mutatedPosition.getX(), mutatedPosition.getY(),
-            shapeMutated.getWidth(),
-            shapeMutated.getHeight(), (int) mutatedColor.getRed(),
-            (int) mutatedColor.getGreen(), (int) mutatedColor.getBlue(),
-            a.getFinalTick(), a.getToPosition().getX(), a.getToPosition().getY(),
-            a.getToWidth(), a.getToHeight(),
-            (int) a.getToColor().getRed(), (int) a.getToColor().getGreen(),
-            (int) a.getToColor().getBlue());
-
-        result.append(formatted);
+        line.setLength(0);
+        column(line, "motion", 8).append(' ');
+        column(line, a.getShapeName(), 10).append(' ');
+        column(line, a.getFirstTick(), 5).append(' ');
+        column(line, shapeMutated.getX(), 4).append(' ');
+        column(line, shapeMutated.getY(), 4).append(' ');
+        column(line, shapeMutated.getWidth(), 4).append(' ');
+        column(line, shapeMutated.getHeight(), 4).append(' ');
+        column(line, (int) shapeMutated.getRed(), 4).append(' ');
+        column(line, (int) shapeMutated.getGreen(), 4).append(' ');
+        column(line, (int) shapeMutated.getBlue(), 4).append(" \t\t ");
+        column(line, a.getFinalTick(), 5).append(' ');
+        column(line, toPosition.getX(), 4).append(' ');
+        column(line, toPosition.getY(), 4).append(' ');
+        column(line, a.getToWidth(), 4).append(' ');
+        column(line, a.getToHeight(), 4).append(' ');
+        column(line, (int) toColor.getRed(), 4).append(' ');
+        column(line, (int) toColor.getGreen(), 4).append(' ');
+        column(line, (int) toColor.getBlue(), 4).append('\n');
+        writer.write(line);
       }
 
-      result.append("\n");
+      writer.write("\n");
+    }
+  }
+
+  // appends the text to the line, left justified in a column of the given width
+  private static StringBuilder column(StringBuilder line, String text, int width) {
+    int start = line.length();
+    line.append(text);
+    return pad(line, start, width);
+  }
+
+  // appends the number to the line, left justified in a column of the given width
+  private static StringBuilder column(StringBuilder line, long value, int width) {
+    int start = line.length();
+    line.append(value);
+    return pad(line, start, width);
+  }
+
+  // appends the number rounded half away from zero, as with %.0f, left justified in a column of
+  // the given width
+  private static StringBuilder column(StringBuilder line, double value, int width) {
+    int start = line.length();
+    double magnitude = Math.abs(value);
+    if (Double.isNaN(value) || magnitude >= 1e15) {
+      line.append(String.format("%.0f", value));
+    } else {
+      long whole = (long) magnitude;
+      if (magnitude - whole >= .5) {
+        whole++;
+      }
+      if (Double.compare(value, 0.0) < 0) {
+        line.append('-');
+      }
+      line.append(whole);
+    }
+    return pad(line, start, width);
+  }
+
+  // pads the line with spaces so that the text from the given start index fills the width
+  private static StringBuilder pad(StringBuilder line, int start, int width) {
+    for (int i = line.length() - start; i < width; i++) {
+      line.append(' ');
+    }
+    return line;
+  }
+
+  /**
+   * Writes text to an {@link Appendable}, holding back whitespace at the start and end of the
+   * output so that the result matches the trimmed text without building it in memory first.
+   */
+  private static final class TrimmedWriter {
+
+    private final Appendable out;
+    private final StringBuilder pending;
+    private boolean started;
+
+    private TrimmedWriter(Appendable out) {
+      this.out = out;
+      this.pending = new StringBuilder();
+      this.started = false;
     }
 
-    return result.toString().trim();
+    // writes the text, holding back any whitespace at its end until more text is written
+    private void write(CharSequence text) throws IOException {
+      int end = text.length();
+      while (end > 0 && text.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      if (end == 0) {
+        pending.append(text);
+        return;
+      }
+
+      int begin = 0;
+      if (started) {
+        out.append(pending);
+      } else {
+        while (text.charAt(begin) <= ' ') {
+          begin++;
+        }
+        started = true;
+      }
+      pending.setLength(0);
+      out.append(text, begin, end);
+      pending.append(text, end, text.length());
+    }
   }
 
   @Override
@@ -101,6 +209,16 @@ public class TextView implements AnimatorView {
     throw new UnsupportedOperationException("Operation not supported");
   }
 
+  @Override
+  public void writeSVG(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeFrames() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
   @Override
   public void setActionListener(ActionListener listener) {
     throw new UnsupportedOperationException("Operation not supported");
@@ -185,9 +185,15 @@ public class VisualView extends JFrame implements AnimatorView {
       return;
     }
 
-    this.drawingPanel.setTick(drawingPanel.getTick() + deltaTick);
-    this.scrollPane.revalidate();
-    this.repaint();
+    // the panel is drawn between ticks on every timer event, and moves by whole ticks as they pass
+    int steps = drawingPanel.advance();
+    int next = Math.max(0, Math.min(model.getFinalTick(),
+        drawingPanel.getTick() + deltaTick * steps));
+    double position = next + deltaTick * drawingPanel.getTickFraction();
+    this.drawingPanel.setTick(next, Math.max(0, Math.min(model.getFinalTick(), position)));
+    if (steps > 0) {
+      this.scrollPane.revalidate();
+    }
   }
 
   @Override
@@ -210,9 +216,24 @@ public class VisualView extends JFrame implements AnimatorView {
     throw new UnsupportedOperationException("Operation not supported");
   }
 
+  @Override
+  public void writeAnimationState(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
   @Override
   public String getSVG() {
     throw new UnsupportedOperationException("Operation not supported");
   }
 
+  @Override
+  public void writeSVG(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeFrames() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
 }
@@ -0,0 +1,305 @@
+package cs3500.animator.view;
+
+import cs3500.animator.model.Frame;
+import cs3500.animator.model.PlaybackCursor;
+import cs3500.animator.model.ReadOnlyAnimatorModel;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Video based {@link AnimatorView} for an animation. Streams the animation as uncompressed
+ * YUV4MPEG2 (.y4m) video at a given number of frames per second, so that it can be piped into a
+ * video encoder. Frames are drawn with the same drawing rules as {@link AnimationPanel}, without
+ * opening a window, at the exact point in the animation each video frame falls on. Every frame is
+ * drawn antialiased, including frames that fall on whole ticks, so that edges do not jump between
+ * frames. Does not support text/SVG/GUI functionality.
+ *
+ * <p>The video uses 4:2:0 chroma subsampling with BT.601 colors, so a canvas of odd width or height
+ * is padded with white to the next even size.
+ *
+ * <p>Frames are drawn and converted to YUV on the calling thread while a writer thread writes the
+ * frames before them, so drawing overlaps with I/O. The two threads pass a small ring of reusable
+ * frame buffers back and forth through bounded queues, so no memory is allocated per frame and
+ * drawing never gets more than a few frames ahead of the writer.
+ */
+public class Y4MView implements AnimatorView {
+
+  // the number of frame buffers shared by the drawing and writer threads
+  private static final int RING_SIZE = 4;
+
+  // marks the end of the video in the queue of frames to write
+  private static final byte[] END = new byte[0];
+
+  private static final byte[] FRAME_HEADER = "FRAME\n".getBytes(StandardCharsets.US_ASCII);
+
+  private final ReadOnlyAnimatorModel model;
+  private final int speed;
+  private final int fps;
+  private final String output;
+
+  /**
+   * Constructs a video based view for an animation that writes to the given file.
+   *
+   * @param model  the read only animation model
+   * @param speed  the speed to play at (ticks per second)
+   * @param fps    the frames per second of the video
+   * @param output the name of the file to write, or null to write to System.out
+   * @throws IllegalArgumentException if the model is null, or the speed or fps is not positive
+   */
+  public Y4MView(ReadOnlyAnimatorModel model, int speed, int fps, String output)
+      throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    if (speed <= 0) {
+      throw new IllegalArgumentException("Invalid speed");
+    }
+    if (fps <= 0) {
+      throw new IllegalArgumentException("Invalid frame rate");
+    }
+    this.model = model;
+    this.speed = speed;
+    this.fps = fps;
+    this.output = output;
+  }
+
+  @Override
+  public void writeFrames() throws IOException {
+    if (output == null) {
+      // written to the standard output directly, because System.out does not throw when it cannot
+      // be written to (e.g. a closed pipe), and the video would be drawn to the end for nothing
+      System.out.flush();
+      writeVideo(new FileOutputStream(FileDescriptor.out));
+    } else {
+      try (OutputStream out = new FileOutputStream(output)) {
+        writeVideo(out);
+      }
+    }
+  }
+
+  /**
+   * Writes the animation as a YUV4MPEG2 video to the given stream. The video lasts until the end
+   * of the final tick of the animation at the speed of this view.
+   *
+   * @param out the stream to write to
+   * @throws IOException if the stream cannot be written to, or the thread is interrupted
+   * @throws IllegalArgumentException if the stream is null
+   */
+  public void writeVideo(OutputStream out) throws IOException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+    int width = Math.max(2, model.getWidth() + model.getLeftX() + 1) & ~1;
+    int height = Math.max(2, model.getHeight() + model.getTopY() + 1) & ~1;
+    int finalTick = model.getFinalTick();
+    long frames = ((finalTick + 1L) * fps + speed - 1) / speed;
+
+    out.write(String.format("YUV4MPEG2 W%d H%d F%d:1 Ip A1:1 C420jpeg\n", width, height, fps)
+        .getBytes(StandardCharsets.US_ASCII));
+
+    BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(RING_SIZE);
+    for (int i = 0; i < RING_SIZE; i++) {
+      free.add(new byte[width * height * 3 / 2]);
+    }
+    FrameWriter writer = new FrameWriter(out, free);
+    Thread thread = new Thread(writer, "y4m-writer");
+    thread.setDaemon(true);
+    thread.start();
+
+    boolean interrupted = false;
+    boolean finished = false;
+    try {
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+      ShapePainter painter = new ShapePainter(true);
+      PlaybackCursor cursor = model.cursor();
+      Frame frame = new Frame();
+
+      for (long n = 0; n < frames && writer.error == null; n++) {
+        cursor.exactFrameAt(Math.min(finalTick, (double) n * speed / fps), frame);
+        Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setColor(Color.white);
+        graphics2D.fillRect(0, 0, width, height);
+        painter.paint(graphics2D, frame, 0, frame.size());
+        graphics2D.dispose();
+
+        byte[] buffer = free.take();
+        toYUV(pixels, width, height, buffer);
+        writer.frames.put(buffer);
+      }
+      writer.frames.put(END);
+      thread.join();
+      finished = true;
+    } catch (InterruptedException e) {
+      interrupted = true;
+    } finally {
+      // stops the writer thread if drawing stopped early, so that it does not wait forever
+      if (!finished) {
+        thread.interrupt();
+      }
+    }
+
+    if (writer.error != null) {
+      throw writer.error;
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing video");
+    }
+  }
+
+  // converts packed RGB pixels of an image of even size to planar YUV 4:2:0 with BT.601 studio
+  // range colors: a full size luma plane, then the blue and red chroma planes at half the width and
+  // height, each chroma sample taken from the average color of a 2x2 block of pixels
+  private static void toYUV(int[] pixels, int width, int height, byte[] yuv) {
+    int uIndex = width * height;
+    int vIndex = uIndex + uIndex / 4;
+    for (int y = 0; y < height; y += 2) {
+      int top = y * width;
+      int bottom = top + width;
+      for (int x = 0; x < width; x += 2) {
+        int p00 = pixels[top + x];
+        int p01 = pixels[top + x + 1];
+        int p10 = pixels[bottom + x];
+        int p11 = pixels[bottom + x + 1];
+
+        yuv[top + x] = luma(p00);
+        yuv[top + x + 1] = luma(p01);
+        yuv[bottom + x] = luma(p10);
+        yuv[bottom + x + 1] = luma(p11);
+
+        int r = (p00 >> 16 & 0xff) + (p01 >> 16 & 0xff) + (p10 >> 16 & 0xff) + (p11 >> 16 & 0xff);
+        int g = (p00 >> 8 & 0xff) + (p01 >> 8 & 0xff) + (p10 >> 8 & 0xff) + (p11 >> 8 & 0xff);
+        int b = (p00 & 0xff) + (p01 & 0xff) + (p10 & 0xff) + (p11 & 0xff);
+        yuv[uIndex++] = (byte) (((-38 * r - 74 * g + 112 * b + 512) >> 10) + 128);
+        yuv[vIndex++] = (byte) (((112 * r - 94 * g - 18 * b + 512) >> 10) + 128);
+      }
+    }
+  }
+
+  // computes the BT.601 studio range luma of a packed RGB pixel
+  private static byte luma(int rgb) {
+    return (byte) (((66 * (rgb >> 16 & 0xff) + 129 * (rgb >> 8 & 0xff) + 25 * (rgb & 0xff) + 128)
+        >> 8) + 16);
+  }
+
+  /**
+   * Writes the frames put in its queue to a stream, and gives each buffer back once it is written.
+   * If the stream cannot be written to, the error is kept and the remaining frames are dropped, so
+   * that the drawing thread never waits for a buffer that will not come back.
+   */
+  private static final class FrameWriter implements Runnable {
+
+    private final OutputStream out;
+    private final BlockingQueue<byte[]> free;
+    private final BlockingQueue<byte[]> frames;
+    private volatile IOException error;
+
+    private FrameWriter(OutputStream out, BlockingQueue<byte[]> free) {
+      this.out = out;
+      this.free = free;
+      this.frames = new ArrayBlockingQueue<>(RING_SIZE + 1);
+      this.error = null;
+    }
+
+    @Override
+    public void run() {
+      try {
+        for (byte[] buffer = frames.take(); buffer != END; buffer = frames.take()) {
+          if (error == null) {
+            try {
+              out.write(FRAME_HEADER);
+              out.write(buffer);
+            } catch (IOException e) {
+              error = e;
+            }
+          }
+          free.put(buffer);
+        }
+      } catch (InterruptedException e) {
+        // the drawing thread stopped before the end of the video
+      }
+    }
+  }
+
+  @Override
+  public void makeVisible() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void refresh() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void showErrorMessage(String error) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public String getAnimationState() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeAnimationState(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public String getSVG() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void writeSVG(Appendable out) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void setActionListener(ActionListener listener) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void speedUp() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void slowDown() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void play() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void pause() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void rewind() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void restart() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+}
@@ -1,13 +1,22 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import cs3500.animator.model.action.Action;
 import cs3500.animator.model.shapes.Ellipse;
 import cs3500.animator.model.shapes.IShape;
 import cs3500.animator.model.shapes.Position;
 import cs3500.animator.model.shapes.RGBColor;
 import cs3500.animator.model.shapes.Rectangle;
+import cs3500.animator.model.shapes.ShapeState;
 import cs3500.animator.model.AnimatorModel;
 import cs3500.animator.model.AnimatorModelImpl;
+import cs3500.animator.model.Frame;
+import cs3500.animator.model.PlaybackCursor;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -232,6 +241,358 @@ public abstract class AbstractAnimatorModelTest {
     assertEquals(rectModified, shapeAt15);
   }
 
+  @Test
+  public void testShapeAtLongMotions() {
+    model1.addMotion("R", 0, 3000, new Position(300, 30), 130, 100, new RGBColor(30, 60, 90));
+    model1.addMotion("R", 3000, 9000, new Position(0, 0), 100, 100, new RGBColor(0, 0, 0));
+
+    assertEquals(new Rectangle(110, 100, new Position(100, 10), new RGBColor(10, 20, 30), true),
+        model1.shapeAt("R", 1000));
+    assertEquals(new Rectangle(130, 100, new Position(300, 30), new RGBColor(30, 60, 90), true),
+        model1.shapeAt("R", 3000));
+    assertEquals(new Rectangle(115, 100, new Position(150, 15), new RGBColor(15, 30, 45), true),
+        model1.shapeAt("R", 6000));
+    assertEquals(new Rectangle(100, 100, new Position(0, 0), new RGBColor(0, 0, 0), true),
+        model1.shapeAt("R", 10000));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFrameAtInvalidTick() {
+    model1.frameAt(-1, new Frame());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFrameAtNullFrame() {
+    model1.frameAt(0, null);
+  }
+
+  @Test
+  public void testFrameAt() {
+    model1.createLayer("top");
+    model1.createShape("C", new Ellipse(5, 5, new Position(1, 2), new RGBColor(0, 0, 0), true),
+        "top");
+    model1.swapLayers("default", "top");
+    model1.addMotion("R", 0, 10, new Position(10, 20), 200, 100, new RGBColor(250, 0, 0));
+
+    Frame frame = new Frame();
+    model1.frameAt(5, frame);
+
+    // "Ellipse" is not visible since it has no motions
+    assertEquals(2, frame.size());
+    assertEquals(5, frame.getTick());
+    assertEquals("C", frame.getName(0));
+    assertEquals("ellipse", frame.getType(0));
+    assertEquals("R", frame.getName(1));
+    assertEquals("rectangle", frame.getType(1));
+    assertEquals(5, frame.getX(1), .0001);
+    assertEquals(10, frame.getY(1), .0001);
+    assertEquals(150, frame.getWidth(1), .0001);
+    assertEquals(100, frame.getHeight(1), .0001);
+    assertEquals(125, frame.getRed(1), .0001);
+    assertEquals(0, frame.getGreen(1), .0001);
+    assertEquals(0, frame.getBlue(1), .0001);
+    assertEquals(0, frame.getRotation(1));
+    assertEquals(0x7D0000, frame.getColor(1));
+
+    model1.frameAt(0, frame);
+    assertEquals(1, frame.size());
+    assertEquals("C", frame.getName(0));
+  }
+
+  @Test
+  public void testFrameLayers() {
+    model1.createLayer("top");
+    model1.createShape("C", new Ellipse(5, 5, new Position(1, 2), new RGBColor(0, 0, 0), true),
+        "top");
+    model1.addMotion("R", 0, 10, new Position(10, 20), 200, 100, new RGBColor(250, 0, 0));
+    model1.addMotion("R", 10, 20, new Position(10, 20), 200, 100, new RGBColor(250, 0, 0));
+
+    Frame frame = new Frame();
+    model1.frameAt(5, frame);
+    assertEquals(2, frame.layerCount());
+    assertEquals("default", frame.getLayerName(0));
+    assertEquals(0, frame.getLayerStart(0));
+    assertEquals(1, frame.getLayerEnd(0));
+    assertEquals("top", frame.getLayerName(1));
+    assertEquals(1, frame.getLayerStart(1));
+    assertEquals(2, frame.getLayerEnd(1));
+
+    // the cursor fills frames the same way
+    Frame other = new Frame();
+    model1.cursor().frameAt(5, other);
+    assertTrue(other.sameLayers(frame));
+    assertTrue(other.sameLayer(0, frame));
+    assertTrue(other.sameLayer(1, frame));
+
+    // "R" moves between ticks 5 and 6, "C" does not, and nothing moves after tick 10
+    model1.frameAt(6, other);
+    assertFalse(other.sameLayer(0, frame));
+    assertTrue(other.sameLayer(1, frame));
+    model1.frameAt(12, frame);
+    model1.frameAt(15, other);
+    assertTrue(other.sameLayer(0, frame));
+
+    model1.swapLayers("default", "top");
+    model1.frameAt(15, other);
+    assertFalse(other.sameLayers(frame));
+    assertFalse(other.sameLayer(0, frame));
+  }
+
+  @Test
+  public void testFrameAtManyShapes() {
+    Frame frame = new Frame();
+    for (int i = 0; i < 40; i++) {
+      model1.createShape("shape" + i,
+          new Rectangle(1, 1, new Position(i, i), new RGBColor(0, 0, 0), true));
+    }
+    model1.frameAt(0, frame);
+    assertEquals(40, frame.size());
+    assertEquals("shape39", frame.getName(39));
+    assertEquals(39, frame.getX(39), .0001);
+  }
+
+  @Test
+  public void testCursorMatchesFrameAt() {
+    model1.addMotion("R", 0, 10, new Position(10, 20), 200, 100, new RGBColor(250, 0, 0));
+    model1.addMotion("R", 10, 15, new Position(0, 0), 200, 100, new RGBColor(250, 0, 0));
+    model1.addMotion("Ellipse", 4, 30, new Position(40, 40), 20, 40.2, new RGBColor(0, 0, 0));
+    model1.addMotion("Ellipse", 30, 31, new Position(0, 40), 20, 40.2, new RGBColor(0, 0, 0));
+
+    PlaybackCursor cursor = model1.cursor();
+    Frame expected = new Frame();
+    Frame actual = new Frame();
+
+    // play forwards, jump ahead, then play backwards
+    int[] ticks = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 30, 40, 31, 30, 29, 28, 12, 3, 2, 1};
+    for (int tick : ticks) {
+      model1.frameAt(tick, expected);
+      cursor.frameAt(tick, actual);
+      assertEquals(tick, cursor.getTick());
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.getName(i), actual.getName(i));
+        assertEquals(expected.getX(i), actual.getX(i), .0001);
+        assertEquals(expected.getY(i), actual.getY(i), .0001);
+        assertEquals(expected.getWidth(i), actual.getWidth(i), .0001);
+        assertEquals(expected.getRed(i), actual.getRed(i), .0001);
+      }
+    }
+  }
+
+  @Test
+  public void testCursorSeesModelChanges() {
+    PlaybackCursor cursor = model1.cursor();
+    Frame frame = new Frame();
+    cursor.frameAt(5, frame);
+    assertEquals(0, frame.size());
+
+    model1.addMotion("R", 0, 10, new Position(10, 20), 200, 100, new RGBColor(250, 0, 0));
+    cursor.frameAt(5, frame);
+    assertEquals(1, frame.size());
+    assertEquals(5, frame.getX(0), .0001);
+
+    model1.removeShape("R");
+    cursor.frameAt(6, frame);
+    assertEquals(0, frame.size());
+  }
+
+  @Test
+  public void testCursorRegion() {
+    model1.createShape("A", new Rectangle(10, 10, new Position(0, 0), new RGBColor(0, 0, 0), true));
+    model1.addMotion("A", 0, 10, new Position(100, 0), 10, 10, new RGBColor(0, 0, 0));
+    model1.createShape("B",
+        new Rectangle(10, 10, new Position(500, 500), new RGBColor(0, 0, 0), true, 45));
+
+    PlaybackCursor cursor = model1.cursor();
+    Frame frame = new Frame();
+    cursor.frameAt(0, frame, 200, 200, 100, 100);
+    assertEquals(0, frame.size());
+    assertEquals(1, frame.layerCount());
+
+    // "A" is included wherever it could be during its motion
+    cursor.frameAt(0, frame, 50, 0, 10, 10);
+    assertEquals(1, frame.size());
+    assertEquals("A", frame.getName(0));
+    assertEquals(0, frame.getX(0), .0001);
+    cursor.frameAt(5, frame, 50, 0, 10, 10);
+    assertEquals(50, frame.getX(0), .0001);
+
+    // "B" is rotated, so it can reach past its corners
+    cursor.frameAt(5, frame, 511, 511, 5, 5);
+    assertEquals(1, frame.size());
+    assertEquals("B", frame.getName(0));
+    cursor.frameAt(5, frame, 520, 520, 5, 5);
+    assertEquals(0, frame.size());
+
+    cursor.frameAt(5, frame, 0, 0, 1000, 1000);
+    Frame all = new Frame();
+    model1.frameAt(5, all);
+    assertEquals(all.size(), frame.size());
+    for (int i = 0; i < all.size(); i++) {
+      assertTrue(frame.sameShape(i, all, i));
+    }
+  }
+
+  @Test
+  public void testCursorChangedShapes() {
+    model1.createShape("A", new Rectangle(10, 10, new Position(0, 0), new RGBColor(0, 0, 0), true));
+    model1.addMotion("A", 0, 10, new Position(100, 0), 10, 10, new RGBColor(0, 0, 0));
+    model1.createShape("B",
+        new Rectangle(10, 10, new Position(500, 500), new RGBColor(0, 0, 0), true));
+
+    PlaybackCursor cursor = model1.cursor();
+    Frame frame = new Frame();
+    Frame other = new Frame();
+    int[] frameIndices = new int[4];
+    int[] otherIndices = new int[4];
+
+    // only "A" moves between ticks 5 and 6
+    cursor.frameAt(5, frame);
+    cursor.frameAt(6, other);
+    assertEquals(2, frame.size());
+    assertEquals(1, cursor.changedShapes(frame, other, 5, 6, frameIndices, otherIndices));
+    assertEquals("A", frame.getName(frameIndices[0]));
+    assertEquals("A", other.getName(otherIndices[0]));
+    assertEquals(1, cursor.changedShapes(other, frame, 6, 5, frameIndices, otherIndices));
+
+    // a shape that is only in one of the frames has no index in the other
+    cursor.frameAt(6, other, 500, 500, 10, 10);
+    assertEquals(1, other.size());
+    assertEquals(1, cursor.changedShapes(frame, other, 5, 6, frameIndices, otherIndices));
+    assertEquals("A", frame.getName(frameIndices[0]));
+    assertEquals(-1, otherIndices[0]);
+
+    // nothing changes after the motion
+    cursor.frameAt(12, frame);
+    cursor.frameAt(15, other);
+    assertEquals(0, cursor.changedShapes(frame, other, 12, 15, frameIndices, otherIndices));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCursorChangedShapesNullFrame() {
+    model1.cursor().changedShapes(null, new Frame(), 0, 1, new int[0], new int[0]);
+  }
+
+  @Test
+  public void testTimelineQueries() {
+    model1.createLayer("top");
+    model1.createShape("C", new Ellipse(5, 5, new Position(1, 2), new RGBColor(0, 0, 0), true),
+        "top");
+    model1.addMotion("R", 0, 10, new Position(10, 20), 200, 100, new RGBColor(250, 0, 0));
+    model1.addMotion("Ellipse", 5, 8, new Position(0, 0), 20, 40.2, new RGBColor(0, 0, 0));
+
+    // shapes become visible after the first tick of their first motion, and are in draw order
+    assertEquals(Arrays.asList("C"), model1.getVisibleShapes(0));
+    assertEquals(Arrays.asList("R", "C"), model1.getVisibleShapes(1));
+    assertEquals(Arrays.asList("R", "Ellipse", "C"), model1.getVisibleShapes(6));
+
+    assertEquals(Arrays.asList(), model1.getMovingShapes(0));
+    assertEquals(Arrays.asList("R"), model1.getMovingShapes(1));
+    assertEquals(Arrays.asList("R", "Ellipse"), model1.getMovingShapes(6));
+    assertEquals(Arrays.asList(), model1.getMovingShapes(11));
+
+    assertEquals(Arrays.asList("R", "Ellipse"), model1.getChangedShapes(0, 20));
+    assertEquals(Arrays.asList("R"), model1.getChangedShapes(8, 20));
+    assertEquals(Arrays.asList(), model1.getChangedShapes(10, 20));
+
+    // the index is rebuilt after the model changes
+    model1.swapLayers("default", "top");
+    assertEquals(Arrays.asList("C", "R", "Ellipse"), model1.getVisibleShapes(6));
+    model1.addMotion("C", 12, 14, new Position(3, 3), 5, 5, new RGBColor(0, 0, 0));
+    assertEquals(Arrays.asList("C"), model1.getChangedShapes(10, 20));
+  }
+
+  @Test
+  public void testTimelineQueriesFromManyThreads() throws InterruptedException {
+    for (int i = 0; i < 100; i++) {
+      model1.createShape("S" + i,
+          new Rectangle(1, 1, new Position(0, 0), new RGBColor(0, 0, 0), false));
+      model1.addMotion("S" + i, i, i + 5, new Position(i, i), 1, 1, new RGBColor(0, 0, 0));
+      model1.addMotion("S" + i, i + 10, i + 12, new Position(0, 0), 1, 1, new RGBColor(0, 0, 0));
+    }
+    List<List<String>> expected = new ArrayList<>();
+    for (int tick = 0; tick < 120; tick++) {
+      expected.add(model1.getChangedShapes(tick, tick + 8));
+    }
+
+    // every thread reads the same model, starting before its index is built again
+    model1.swapLayers("default", "default");
+    model1.addMotion("R", 200, 201, new Position(0, 0), 100, 100, new RGBColor(0, 0, 0));
+    List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (int round = 0; round < 50; round++) {
+          for (int tick = 0; tick < 120; tick++) {
+            if (!model1.getChangedShapes(tick, tick + 8).equals(expected.get(tick))) {
+              failures.add("tick " + tick);
+            }
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(Collections.emptyList(), failures);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testVisibleShapesInvalidTick() {
+    model1.getVisibleShapes(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChangedShapesInvalidTicks() {
+    model1.getChangedShapes(5, 4);
+  }
+
+  @Test
+  public void testCursorBetweenTicks() {
+    model1.addMotion("R", 0, 10, new Position(10, 20), 200, 100, new RGBColor(250, 0, 0));
+    PlaybackCursor cursor = model1.cursor();
+    Frame frame = new Frame();
+
+    cursor.frameAt(2.5, frame);
+    assertEquals(2, frame.getTick());
+    assertEquals(2.5, frame.getPosition(), .0001);
+    assertTrue(frame.isBetweenTicks());
+    assertEquals(1, frame.size());
+    assertEquals(2.5, frame.getX(0), .0001);
+    assertEquals(5, frame.getY(0), .0001);
+
+    // whole ticks give the same frame either way
+    Frame whole = new Frame();
+    cursor.frameAt(3.0, frame);
+    model1.frameAt(3, whole);
+    assertFalse(frame.isBetweenTicks());
+    assertTrue(frame.sameShape(0, whole, 0));
+
+    cursor.frameAt(2.5, frame, 0, 0, 5, 5);
+    assertEquals(1, frame.size());
+    cursor.frameAt(2.5, frame, 300, 300, 5, 5);
+    assertEquals(0, frame.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCursorBetweenTicksInvalid() {
+    model1.cursor().frameAt(-.5, new Frame());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCursorInvalidTick() {
+    model1.cursor().moveTo(-1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testFrameInvalidIndex() {
+    Frame frame = new Frame();
+    model1.frameAt(0, frame);
+    frame.getX(0);
+  }
+
   @Test
   public void getWidth() {
     assertEquals(500, model1.getWidth());
@@ -268,6 +629,24 @@ public abstract class AbstractAnimatorModelTest {
     assertEquals(1, model1.getShapeActions("R").size());
   }
 
+  @Test
+  public void getShapeActionsSorted() {
+    model1.addMotion("R", 20, 30, new Position(10, 10), 100, 200, new RGBColor(0, 0, 0));
+    model1.addMotion("Ellipse", 5, 10, new Position(10, 10), 20, 40.2,
+        new RGBColor(20, 120, 255));
+    model1.addMotion("R", 1, 10, new Position(10, 10), 100, 200, new RGBColor(0, 0, 0));
+
+    assertEquals(2, model1.getShapeActions("R").size());
+    assertEquals(1, model1.getShapeActions("R").get(0).getFirstTick());
+    assertEquals(20, model1.getShapeActions("R").get(1).getFirstTick());
+    assertEquals(1, model1.getShapeActions("Ellipse").size());
+    assertEquals(30, model1.getFinalTick());
+
+    model1.removeShape("R");
+    assertEquals(0, model1.getShapeActions("R").size());
+    assertEquals(10, model1.getFinalTick());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void removeShapeNullName() {
     model1.removeShape(null);
@@ -347,4 +726,130 @@ public abstract class AbstractAnimatorModelTest {
     model1.createLayer("sanjana");
     assertEquals(Arrays.asList("default", "stefan", "sanjana"), model1.getLayers());
   }
+
+  @Test
+  public void getLayerShapes() {
+    IShape shape = new Rectangle(10, 12, new Position(0, 0), new RGBColor(0, 0, 0), false);
+    model1.createLayer("top");
+    model1.createShape("b", shape, "top");
+    model1.createShape("a", shape);
+    model1.createShape("c", shape, "top");
+
+    assertEquals(Arrays.asList("b", "c"), model1.getLayerShapes("top"));
+    assertEquals(Arrays.asList("R", "Ellipse", "a"), model1.getLayerShapes("default"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getLayerShapesInvalidLayer() {
+    model1.getLayerShapes("fake");
+  }
+
+  @Test
+  public void testRemoveShapeUpdatesLayer() {
+    IShape shape = new Rectangle(10, 12, new Position(0, 0), new RGBColor(0, 0, 0), false);
+    model1.createLayer("top");
+    model1.createShape("a", shape, "top");
+    model1.removeShape("a");
+    assertEquals(Arrays.asList(), model1.getLayerShapes("top"));
+
+    model1.createShape("a", shape);
+    assertEquals("default", model1.getShapeLayer("a"));
+    assertEquals(Arrays.asList(), model1.getLayerShapes("top"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRemoveLayerRemovesShapes() {
+    IShape shape = new Rectangle(10, 12, new Position(0, 0), new RGBColor(0, 0, 0), false);
+    model1.createLayer("top");
+    model1.createShape("a", shape, "top");
+    model1.removeLayer("top");
+    assertEquals(null, model1.findShape("a"));
+    model1.getShapeLayer("a");
+  }
+
+  @Test
+  public void testBuilderMotionsOutOfOrder() {
+    AnimatorModel built = new AnimatorModelImpl.Builder()
+        .declareShape("R", "rectangle", "default")
+        .addMotion("R", 10, 5, 5, 10, 10, 0, 0, 0, 20, 50, 50, 10, 10, 0, 0, 0, 0, 0)
+        .addMotion("R", 1, 0, 0, 10, 10, 0, 0, 0, 10, 5, 5, 10, 10, 0, 0, 0, 0, 0)
+        .build();
+
+    assertEquals(1, built.getShapeActions("R").get(0).getFirstTick());
+    assertEquals(10, built.getShapeActions("R").get(1).getFirstTick());
+    assertEquals(0, built.findShape("R").getCurrentPosition().getX(), 0.01);
+    assertEquals(50, built.shapeAt("R", 20).getCurrentPosition().getX(), 0.01);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddMotionConflictWithLongMotion() {
+    model1.addMotion("R", 1, 100, new Position(10, 10), 100, 100, new RGBColor(0, 0, 0));
+    model1.addMotion("R", 5, 10, new Position(0, 0), 100, 100, new RGBColor(0, 0, 255));
+    model1.addMotion("R", 20, 30, new Position(0, 0), 100, 100, new RGBColor(0, 255, 0));
+    model1.addMotion("R", 40, 50, new Position(20, 20), 100, 100, new RGBColor(0, 0, 0));
+  }
+
+  @Test
+  public void testAddMotionOverlappingDifferentProperties() {
+    model1.addMotion("R", 1, 100, new Position(10, 10), 100, 100, new RGBColor(0, 0, 0));
+    model1.addMotion("R", 5, 10, new Position(0, 0), 100, 100, new RGBColor(0, 0, 255));
+    model1.addMotion("R", 1, 100, new Position(0, 0), 50, 100, new RGBColor(0, 0, 0));
+    assertEquals(3, model1.getShapeActions("R").size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuilderConflictingMotions() {
+    new AnimatorModelImpl.Builder()
+        .declareShape("R", "rectangle", "default")
+        .addMotion("R", 1, 0, 0, 10, 10, 0, 0, 0, 50, 50, 50, 10, 10, 0, 0, 0, 0, 0)
+        .addMotion("R", 20, 5, 5, 10, 10, 0, 0, 0, 30, 10, 10, 10, 10, 0, 0, 0, 0, 0)
+        .build();
+  }
+
+  @Test
+  public void getShapeActionStates() {
+    model1.addMotion("R", 1, 10, new Position(10, 10), 100, 100, new RGBColor(0, 0, 0));
+    model1.addMotion("R", 5, 20, new Position(0, 0), 100, 100, new RGBColor(0, 0, 255));
+    model1.addMotion("R", 20, 30, new Position(50, 10), 100, 100, new RGBColor(0, 0, 255));
+
+    List<Action> actions = model1.getShapeActions("R");
+    List<ShapeState> states = model1.getShapeActionStates("R");
+    assertEquals(6, states.size());
+    for (int i = 0; i < actions.size(); i++) {
+      assertEquals(ShapeState.of(model1.shapeAt("R", actions.get(i).getFirstTick())),
+          states.get(2 * i));
+      assertEquals(ShapeState.of(model1.shapeAt("R", actions.get(i).getFinalTick())),
+          states.get(2 * i + 1));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getShapeActionStatesInvalidShape() {
+    model1.getShapeActionStates("fake");
+  }
+
+  @Test
+  public void shapeStateAt() {
+    model1.addMotion("R", 1, 10, new Position(10, 10), 100, 100, new RGBColor(0, 0, 0));
+    model1.addMotion("R", 10, 20, new Position(30, 50), 100, 100, new RGBColor(0, 0, 255));
+
+    for (int tick : new int[]{0, 1, 5, 10, 15, 20, 100}) {
+      assertEquals(ShapeState.of(model1.shapeAt("R", tick)), model1.shapeStateAt("R", tick));
+    }
+    ShapeState state = model1.shapeStateAt("R", 15);
+    assertEquals(20, state.getX(), 0.01);
+    assertEquals(30, state.getY(), 0.01);
+    assertEquals(127.5, state.getBlue(), 0.01);
+    assertEquals("rectangle", state.getType());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shapeStateAtInvalidShape() {
+    model1.shapeStateAt("fake", 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shapeStateAtInvalidTick() {
+    model1.shapeStateAt("R", -1);
+  }
 }
\ No newline at end of file
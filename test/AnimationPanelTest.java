@@ -1,8 +1,17 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import cs3500.animator.model.AnimatorModel;
 import cs3500.animator.model.AnimatorModelImpl;
 import cs3500.animator.model.ReadOnlyAnimatorModelImpl;
+import cs3500.animator.model.shapes.Position;
+import cs3500.animator.model.shapes.RGBColor;
 import cs3500.animator.view.AnimationPanel;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -35,4 +44,60 @@ public class AnimationPanelTest {
     panel.setTick(10);
     assertEquals(10, panel.getTick());
   }
+
+  @Test
+  public void setTickBetweenTicks() {
+    panel.setTick(3, 3.5);
+    assertEquals(3, panel.getTick());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setTickBetweenTicksInvalid() {
+    panel.setTick(3, Double.NaN);
+  }
+
+  @Test
+  public void setTickRepaintsChangedShapes() {
+    AnimatorModel model = new AnimatorModelImpl.Builder()
+        .setBounds(0, 0, 500, 500)
+        .declareShape("moving", "rectangle", "default")
+        .declareShape("still", "ellipse", "default")
+        .addMotion("moving", 0, 0, 0, 10, 10, 0, 0, 0, 1, 0, 0, 10, 10, 0, 0, 0, 0, 0)
+        .addMotion("moving", 1, 0, 0, 10, 10, 0, 0, 0, 11, 100, 0, 10, 10, 0, 0, 0, 0, 0)
+        .addMotion("still", 0, 300, 300, 50, 50, 0, 0, 0, 1, 300, 300, 50, 50, 0, 0, 0, 0, 0)
+        .addMotion("still", 1, 300, 300, 50, 50, 0, 0, 0, 11, 300, 300, 50, 50, 0, 0, 0, 0, 0)
+        .build();
+    List<Rectangle> repainted = new ArrayList<>();
+    AnimationPanel tracked = new AnimationPanel(new ReadOnlyAnimatorModelImpl(model), 1) {
+      @Override
+      public void repaint(Rectangle r) {
+        repainted.add(r);
+      }
+    };
+    tracked.setSize(500, 500);
+
+    // the first tick repaints everything
+    tracked.setTick(5);
+    assertEquals(Arrays.asList(new Rectangle(0, 0, 500, 500)), repainted);
+
+    // only the moving shape is repainted, where it was and where it is now
+    repainted.clear();
+    tracked.setTick(6);
+    assertEquals(1, repainted.size());
+    Rectangle dirty = repainted.get(0);
+    assertTrue(dirty.contains(new Rectangle(40, 0, 10, 10)));
+    assertTrue(dirty.contains(new Rectangle(50, 0, 10, 10)));
+    assertFalse(dirty.intersects(new Rectangle(300, 300, 50, 50)));
+
+    // nothing changes after the last motion
+    tracked.setTick(11);
+    repainted.clear();
+    tracked.setTick(12);
+    assertTrue(repainted.isEmpty());
+
+    // a change to the model repaints everything
+    model.addMotion("still", 12, 20, new Position(0, 0), 50, 50, new RGBColor(0, 0, 0));
+    tracked.setTick(13);
+    assertEquals(Arrays.asList(new Rectangle(0, 0, 500, 500)), repainted);
+  }
 }
\ No newline at end of file
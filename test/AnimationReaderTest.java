@@ -0,0 +1,116 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.model.AnimatorModel;
+import cs3500.animator.model.AnimatorModelImpl;
+import cs3500.animator.model.IKeyframeModel;
+import cs3500.animator.model.KeyframeModel;
+import cs3500.animator.util.AnimationReader;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Represents unit testing for the AnimationReader class.
+ */
+public class AnimationReaderTest {
+
+  private AnimatorModel read(String input) {
+    return AnimationReader.parseFile(new StringReader(input), new AnimatorModelImpl.Builder());
+  }
+
+  @Test
+  public void testParseFile() {
+    AnimatorModel model = read("canvas 10 20 300 400\n"
+        + "shape R rectangle\n"
+        + "motion R 1 0 0 10 10 0 0 0   10 50 -50 10 10 0 0 255\n"
+        + "motion R 10 50 -50 10 10 0 0 255   20 50 -50 10 10 0 0 255\n");
+
+    assertEquals(10, model.getLeftX());
+    assertEquals(20, model.getTopY());
+    assertEquals(300, model.getWidth());
+    assertEquals(400, model.getHeight());
+    assertEquals(2, model.getShapeActions("R").size());
+    assertEquals(-50, model.shapeAt("R", 10).getCurrentPosition().getY(), 0.01);
+  }
+
+  @Test
+  public void testCommentsAndWhitespace() {
+    AnimatorModel model = read("# a comment\n"
+        + "shape R rectangle # the layer is not a comment\n"
+        + "shape E\tellipse\r\n"
+        + "motion R 1 0 0 10 10 0 0 0#comment right after a token\n"
+        + "  10 50 50 10 10 0 0 0\n");
+
+    assertEquals(Arrays.asList("R", "E"), model.getShapeNames());
+    assertEquals("default", model.getShapeLayer("R"));
+    assertEquals("default", model.getShapeLayer("E"));
+    assertEquals(1, model.getShapeActions("R").size());
+  }
+
+  @Test
+  public void testLayers() {
+    AnimatorModel model = read("shape R rectangle top\n"
+        + "shape E ellipse\n");
+
+    assertEquals(Arrays.asList("default", "top"), model.getLayers());
+    assertEquals("top", model.getShapeLayer("R"));
+    assertEquals("default", model.getShapeLayer("E"));
+  }
+
+  @Test
+  public void testRotation() {
+    IKeyframeModel model = AnimationReader.parseFile(new StringReader("shape R rectangle\n"
+            + "motion R 1 0 0 10 10 0 0 0 10 50 50 10 10 0 0 0 0 90\n"
+            + "motion R 10 50 50 10 10 0 0 0 20 50 50 10 10 0 0 0\n"),
+        new KeyframeModel.Builder());
+
+    assertEquals(90, model.getShapeActions("R").get(0).getToDegrees());
+    assertEquals(0, model.getShapeActions("R").get(1).getToDegrees());
+  }
+
+  @Test
+  public void testUnexpectedKeyword() {
+    try {
+      read("shape R rectangle\n  square R\n");
+    } catch (IllegalStateException e) {
+      assertEquals("Unexpected keyword: square (line 2, column 3)", e.getMessage());
+      return;
+    }
+    fail();
+  }
+
+  @Test
+  public void testExpectedInteger() {
+    try {
+      read("shape R rectangle\nmotion R 1 0 0 10 ten 0 0 0 10 50 50 10 10 0 0 0\n");
+    } catch (IllegalStateException e) {
+      assertEquals("Motion: expected integer for initial height, got: ten (line 2, column 19)",
+          e.getMessage());
+      return;
+    }
+    fail();
+  }
+
+  @Test
+  public void testNoMoreInput() {
+    try {
+      read("canvas 0 0 100");
+    } catch (IllegalStateException e) {
+      assertEquals("Canvas: expected integer for height, but no more input available "
+          + "(line 1, column 15)", e.getMessage());
+      return;
+    }
+    fail();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMissingFinalRotation() {
+    read("shape R rectangle\nmotion R 1 0 0 10 10 0 0 0 10 50 50 10 10 0 0 0 45\n");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIntegerOverflow() {
+    read("canvas 0 0 100 2147483648");
+  }
+}
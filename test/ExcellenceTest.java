@@ -0,0 +1,155 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.Excellence;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Represents unit testing for the exit status and error output of {@link Excellence}. Each run
+ * happens in a separate JVM, since the program exits when it fails.
+ */
+public class ExcellenceTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File input;
+
+  @Before
+  public void init() throws IOException {
+    input = folder.newFile("input.txt");
+    Files.write(input.toPath(), ("canvas 0 0 40 30\n"
+        + "shape R rectangle\n"
+        + "motion R 1 0 0 10 10 255 0 0   10 20 0 10 10 255 0 0\n")
+        .getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void noArguments() throws IOException, InterruptedException {
+    Run run = run();
+    assertEquals(2, run.status);
+    assertEquals("Error: No arguments provided", run.error.trim());
+  }
+
+  @Test
+  public void missingInput() throws IOException, InterruptedException {
+    Run run = run("-view", "text");
+    assertEquals(2, run.status);
+    assertEquals("Error: Required input argument not found", run.error.trim());
+  }
+
+  @Test
+  public void invalidView() throws IOException, InterruptedException {
+    Run run = run("-in", input.getPath(), "-view", "movie");
+    assertEquals(2, run.status);
+    assertEquals("Error: Invalid view name", run.error.trim());
+  }
+
+  @Test
+  public void nonPositiveSpeed() throws IOException, InterruptedException {
+    for (String view : Arrays.asList("svg", "gif", "y4m")) {
+      Run run = run("-in", input.getPath(), "-view", view, "-speed", "0",
+          "-out", new File(folder.getRoot(), "out").getPath());
+      assertEquals(2, run.status);
+      assertEquals("Error: Speed must be positive", run.error.trim());
+    }
+  }
+
+  @Test
+  public void nonPositiveFps() throws IOException, InterruptedException {
+    Run run = run("-in", input.getPath(), "-view", "y4m", "-fps", "-5");
+    assertEquals(2, run.status);
+    assertEquals("Error: Frames per second must be positive", run.error.trim());
+  }
+
+  @Test
+  public void missingInputFile() throws IOException, InterruptedException {
+    Run run = run("-in", new File(folder.getRoot(), "missing.txt").getPath(), "-view", "text");
+    assertEquals(1, run.status);
+    assertTrue(run.error.startsWith("Error: "));
+  }
+
+  @Test
+  public void unreadableAnimation() throws IOException, InterruptedException {
+    Files.write(input.toPath(), "motion R 1 2\n".getBytes(StandardCharsets.US_ASCII));
+    Run run = run("-in", input.getPath(), "-view", "text");
+    assertEquals(1, run.status);
+    assertTrue(run.error.startsWith("Error: "));
+  }
+
+  @Test
+  public void unwritableImageOutput() throws IOException, InterruptedException {
+    for (String view : Arrays.asList("gif", "y4m")) {
+      Run run = run("-in", input.getPath(), "-view", view, "-out",
+          new File(folder.getRoot(), "missing/out." + view).getPath());
+      assertEquals(1, run.status);
+      assertTrue(run.error, run.error.startsWith("Error: Cannot write frames: "));
+      assertTrue(run.error, run.error.contains("No such file or directory"));
+    }
+  }
+
+  @Test
+  public void interactiveViewWithoutDisplay() throws IOException, InterruptedException {
+    Run run = run("-in", input.getPath(), "-view", "visual");
+    assertEquals(1, run.status);
+    assertEquals("Error: The visual view needs a display", run.error.trim());
+  }
+
+  @Test
+  public void writeSVG() throws IOException, InterruptedException {
+    File output = new File(folder.getRoot(), "out.svg");
+    Run run = run("-in", input.getPath(), "-view", "svg", "-speed", "10", "-out",
+        output.getPath());
+    assertEquals(0, run.status);
+    assertEquals("", run.error);
+    assertTrue(new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8)
+        .startsWith("<svg"));
+  }
+
+  @Test
+  public void invalidSpeedFallsBackToDefault() throws IOException, InterruptedException {
+    Run run = run("-in", input.getPath(), "-view", "text", "-speed", "fast");
+    assertEquals(0, run.status);
+    assertEquals("Error: Invalid speed value. Using default speed of 1", run.error.trim());
+  }
+
+  // runs the program in a new headless JVM with the given arguments, and waits for it to exit
+  private Run run(String... args) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>(Arrays.asList(
+        new File(System.getProperty("java.home"), "bin/java").getPath(),
+        "-Djava.awt.headless=true", "-cp", System.getProperty("java.class.path"),
+        Excellence.class.getName()));
+    command.addAll(Arrays.asList(args));
+    File error = folder.newFile();
+    Process process = new ProcessBuilder(command)
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .redirectError(error)
+        .start();
+    int status = process.waitFor();
+    return new Run(status, new String(Files.readAllBytes(error.toPath()), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * The exit status and error output of one run of the program.
+   */
+  private static final class Run {
+
+    private final int status;
+    private final String error;
+
+    private Run(int status, String error) {
+      this.status = status;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,197 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.controller.BasicAnimatorControllerImpl;
+import cs3500.animator.model.AnimatorModel;
+import cs3500.animator.model.AnimatorModelImpl;
+import cs3500.animator.model.ReadOnlyAnimatorModel;
+import cs3500.animator.model.ReadOnlyAnimatorModelImpl;
+import cs3500.animator.view.AnimatorView;
+import cs3500.animator.view.GIFView;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadataNode;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Represents unit testing for {@link GIFView} implementation of {@link AnimatorView}.
+ */
+public class GIFViewTest {
+
+  private static final String FORMAT = "javax_imageio_gif_image_1.0";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private ReadOnlyAnimatorModel model;
+  private AnimatorView view;
+
+  @Before
+  public void init() {
+    AnimatorModel modelMutable = new AnimatorModelImpl.Builder()
+        .setBounds(0, 0, 40, 30)
+        .declareShape("back", "rectangle", "default")
+        .declareShape("front", "ellipse", "default")
+        .addMotion("back", 0, 0, 0, 40, 30, 255, 0, 0, 20, 0, 0, 40, 30, 255, 0, 0, 0, 0)
+        .addMotion("front", 0, 0, 0, 10, 10, 0, 0, 255, 4, 0, 0, 10, 10, 0, 0, 255, 0, 0)
+        .addMotion("front", 4, 0, 0, 10, 10, 0, 0, 255, 12, 16, 0, 10, 10, 0, 0, 255, 0, 0)
+        .addMotion("front", 12, 16, 0, 10, 10, 0, 0, 255, 20, 16, 0, 10, 10, 0, 0, 255, 0, 0)
+        .build();
+    model = new ReadOnlyAnimatorModelImpl(modelMutable);
+    view = new GIFView(model, 10, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullModel() {
+    new GIFView(null, 10, "out.gif");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidSpeed() {
+    new GIFView(model, 0, "out.gif");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullOutputStream() throws IOException {
+    new GIFView(model, 10, null).writeGIF(null);
+  }
+
+  @Test
+  public void writeGIF() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new GIFView(model, 10, null).writeGIF(out);
+
+    ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+    reader.setInput(ImageIO.createImageInputStream(new ByteArrayInputStream(out.toByteArray())));
+
+    // ticks 2 to 4 and 13 to 20 look the same as the tick before, so only the empty first tick,
+    // the tick the shapes appear, and the eight ticks where the ellipse moves are written
+    assertEquals(10, reader.getNumImages(true));
+
+    // the first frame covers the whole canvas
+    IIOMetadataNode empty = (IIOMetadataNode) reader.getImageMetadata(0).getAsTree(FORMAT);
+    assertEquals("40", attribute(empty, "ImageDescriptor", "imageWidth"));
+    assertEquals("30", attribute(empty, "ImageDescriptor", "imageHeight"));
+    assertEquals("10", attribute(empty, "GraphicControlExtension", "delayTime"));
+
+    // the first frame makes the GIF loop forever
+    IIOMetadataNode loop = (IIOMetadataNode) empty.getElementsByTagName("ApplicationExtension")
+        .item(0);
+    assertEquals("NETSCAPE", loop.getAttribute("applicationID"));
+    assertEquals("2.0", loop.getAttribute("authenticationCode"));
+    assertArrayEquals(new byte[]{1, 0, 0}, (byte[]) loop.getUserObject());
+
+    // the shapes appear over the whole canvas, and are shown until the ellipse starts to move
+    IIOMetadataNode first = (IIOMetadataNode) reader.getImageMetadata(1).getAsTree(FORMAT);
+    assertEquals("0", attribute(first, "ImageDescriptor", "imageLeftPosition"));
+    assertEquals("40", attribute(first, "ImageDescriptor", "imageWidth"));
+    assertEquals("30", attribute(first, "ImageDescriptor", "imageHeight"));
+    assertEquals("40", attribute(first, "GraphicControlExtension", "delayTime"));
+    assertEquals("doNotDispose", attribute(first, "GraphicControlExtension", "disposalMethod"));
+
+    // the other frames only hold the part of the canvas around the moving ellipse
+    IIOMetadataNode moved = (IIOMetadataNode) reader.getImageMetadata(2).getAsTree(FORMAT);
+    assertTrue(Integer.parseInt(attribute(moved, "ImageDescriptor", "imageLeftPosition")) <= 2);
+    assertTrue(Integer.parseInt(attribute(moved, "ImageDescriptor", "imageWidth")) <= 12);
+    assertTrue(Integer.parseInt(attribute(moved, "ImageDescriptor", "imageHeight")) <= 10);
+    assertEquals("10", attribute(moved, "GraphicControlExtension", "delayTime"));
+
+    IIOMetadataNode last = (IIOMetadataNode) reader.getImageMetadata(9).getAsTree(FORMAT);
+    assertTrue(Integer.parseInt(attribute(last, "ImageDescriptor", "imageLeftPosition")) >= 14);
+    assertEquals("90", attribute(last, "GraphicControlExtension", "delayTime"));
+
+    // drawing every frame at its offset over the ones before gives the last tick
+    BufferedImage canvas = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+    for (int i = 0; i < 10; i++) {
+      IIOMetadataNode metadata = (IIOMetadataNode) reader.getImageMetadata(i).getAsTree(FORMAT);
+      canvas.getGraphics().drawImage(reader.read(i),
+          Integer.parseInt(attribute(metadata, "ImageDescriptor", "imageLeftPosition")),
+          Integer.parseInt(attribute(metadata, "ImageDescriptor", "imageTopPosition")), null);
+    }
+    assertEquals(0xff0000, canvas.getRGB(5, 5) & 0xffffff);
+    assertEquals(0x0000ff, canvas.getRGB(21, 5) & 0xffffff);
+    assertEquals(0xff0000, canvas.getRGB(35, 20) & 0xffffff);
+  }
+
+  @Test
+  public void writeGIFAtHighSpeed() throws IOException {
+    // at 500 ticks per second every tick lasts a fifth of a hundredth of a second, so ticks 0 to 9
+    // and 10 to 20 are merged into two frames of at least two hundredths of a second each
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new GIFView(model, 500, null).writeGIF(out);
+
+    ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+    reader.setInput(ImageIO.createImageInputStream(new ByteArrayInputStream(out.toByteArray())));
+    int count = reader.getNumImages(true);
+    assertEquals(2, count);
+
+    int total = 0;
+    BufferedImage canvas = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+    for (int i = 0; i < count; i++) {
+      IIOMetadataNode metadata = (IIOMetadataNode) reader.getImageMetadata(i).getAsTree(FORMAT);
+      int delay = Integer.parseInt(attribute(metadata, "GraphicControlExtension", "delayTime"));
+      assertTrue(delay >= 2);
+      total += delay;
+      canvas.getGraphics().drawImage(reader.read(i),
+          Integer.parseInt(attribute(metadata, "ImageDescriptor", "imageLeftPosition")),
+          Integer.parseInt(attribute(metadata, "ImageDescriptor", "imageTopPosition")), null);
+    }
+    // 21 ticks last about four hundredths of a second
+    assertEquals(4, total);
+
+    // the merged frames still end on the last tick
+    assertEquals(0xff0000, canvas.getRGB(5, 5) & 0xffffff);
+    assertEquals(0x0000ff, canvas.getRGB(21, 5) & 0xffffff);
+  }
+
+  @Test
+  public void writeFramesThroughController() throws IOException {
+    File file = new File(folder.getRoot(), "animation.gif");
+    new BasicAnimatorControllerImpl(model, new GIFView(model, 10, file.getPath()),
+        new StringBuilder()).run();
+    BufferedImage image = ImageIO.read(file);
+    assertEquals(40, image.getWidth());
+    assertEquals(30, image.getHeight());
+    // nothing is visible at the first tick
+    assertEquals(0xffffff, image.getRGB(5, 5) & 0xffffff);
+  }
+
+  @Test(expected = IOException.class)
+  public void writeFramesMissingDirectory() throws IOException {
+    new GIFView(model, 10, new File(folder.getRoot(), "missing/out.gif").getPath()).writeFrames();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeSVG() throws IOException {
+    view.writeSVG(new StringBuilder());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeAnimationState() throws IOException {
+    view.writeAnimationState(new StringBuilder());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void makeVisible() {
+    view.makeVisible();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void play() {
+    view.play();
+  }
+
+  // gets an attribute of the first child of the metadata with the given name
+  private static String attribute(IIOMetadataNode root, String node, String name) {
+    return ((IIOMetadataNode) root.getElementsByTagName(node).item(0)).getAttribute(name);
+  }
+}
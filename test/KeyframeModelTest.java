@@ -1,11 +1,14 @@
 import static org.junit.Assert.assertEquals;
 
+import cs3500.animator.model.Frame;
 import cs3500.animator.model.IKeyframeModel;
 import cs3500.animator.model.KeyframeModel;
+import cs3500.animator.model.PlaybackCursor;
 import cs3500.animator.model.action.KeyframeAction;
 import cs3500.animator.model.shapes.Position;
 import cs3500.animator.model.shapes.RGBColor;
 import cs3500.animator.model.shapes.Rectangle;
+import java.util.Arrays;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -57,6 +60,67 @@ public class KeyframeModelTest {
 
   }
 
+  @Test
+  public void shapeAtManyKeyframes() {
+    model.addKeyframe("Sanjana", 50, new Position(50, 100), 20, 10, new RGBColor(200, 3, 100), 90);
+    model.addKeyframe("Sanjana", 20, new Position(20, 100), 20, 10, new RGBColor(200, 3, 100), 0);
+    model.addKeyframe("Sanjana", 40, new Position(40, 100), 40, 30, new RGBColor(0, 3, 100), 0);
+
+    assertEquals(new Rectangle(20, 10, new Position(20, 100), new RGBColor(200, 3, 100), true),
+        model.shapeAt("Sanjana", 20));
+    assertEquals(new Rectangle(30, 20, new Position(30, 100), new RGBColor(100, 3, 100), true),
+        model.shapeAt("Sanjana", 30));
+    assertEquals(new Rectangle(30, 20, new Position(45, 100), new RGBColor(100, 3, 100), true,
+        45), model.shapeAt("Sanjana", 45));
+    assertEquals(new Rectangle(20, 10, new Position(50, 100), new RGBColor(200, 3, 100), true,
+        90), model.shapeAt("Sanjana", 60));
+  }
+
+  @Test
+  public void frameAt() {
+    Frame frame = new Frame();
+    model.frameAt(0, frame);
+    assertEquals(0, frame.size());
+
+    model.addKeyframe("Sanjana", 13, new Position(20, 100), 20, 10, new RGBColor(200, 3, 100), 90);
+    model.frameAt(8, frame);
+    assertEquals(1, frame.size());
+    assertEquals("Sanjana", frame.getName(0));
+    assertEquals(15, frame.getX(0), .0001);
+    assertEquals(45, frame.getRotation(0));
+  }
+
+  @Test
+  public void frameBetweenTicks() {
+    model.addKeyframe("Sanjana", 6, new Position(15, 100), 20, 10, new RGBColor(200, 3, 100), 0);
+    PlaybackCursor cursor = model.cursor();
+    Frame frame = new Frame();
+    cursor.frameAt(2.5, frame);
+    assertEquals(0, frame.size());
+
+    // tweened positions are whole numbers at whole ticks only
+    cursor.frameAt(4.0, frame);
+    assertEquals(11, frame.getX(0), .0001);
+    cursor.frameAt(4.5, frame);
+    assertEquals(12.5, frame.getX(0), .0001);
+  }
+
+  @Test
+  public void exactFrameAt() {
+    model.addKeyframe("Sanjana", 6, new Position(15, 100), 20, 10, new RGBColor(200, 3, 100), 0);
+    PlaybackCursor cursor = model.cursor();
+    Frame frame = new Frame();
+
+    // whole ticks are not truncated, so they line up with the points between them
+    cursor.exactFrameAt(4.0, frame);
+    assertEquals(1, frame.size());
+    assertEquals(11.6667, frame.getX(0), .0001);
+    cursor.exactFrameAt(4.5, frame);
+    assertEquals(12.5, frame.getX(0), .0001);
+    cursor.frameAt(4.0, frame);
+    assertEquals(11, frame.getX(0), .0001);
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void addMotion() {
     model.addMotion("Sanjana", 1, 2, new Position(10, 200), 10, 20, new RGBColor(0, 0, 0));
@@ -94,4 +158,40 @@ public class KeyframeModelTest {
     model.removeKeyframe("Sanjana", 3);
     assertEquals(0, model.getShapeActions("Sanjana").size());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void removeKeyframeOnlySelectedShape() {
+    model.createShape("Stefan",
+        new Rectangle(10, 20, new Position(0, 0), new RGBColor(10, 20, 30), false));
+    model.addKeyframe("Stefan", 3, new Position(1, 1), 5, 5, new RGBColor(0, 0, 0), 0);
+    model.removeKeyframe("Sanjana", 3);
+    assertEquals(0, model.getShapeActions("Sanjana").size());
+    assertEquals(1, model.getShapeActions("Stefan").size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builderDuplicateKeyframes() {
+    new KeyframeModel.Builder()
+        .declareShape("R", "rectangle", "default")
+        .addMotion("R", 1, 0, 0, 10, 10, 0, 0, 0, 10, 5, 5, 10, 10, 0, 0, 0, 0, 0)
+        .addMotion("R", 5, 5, 5, 10, 10, 0, 0, 0, 10, 8, 8, 10, 10, 0, 0, 0, 0, 0)
+        .build();
+  }
+
+  @Test
+  public void timelineQueries() {
+    model.addKeyframe("Sanjana", 10, new Position(20, 100), 20, 10, new RGBColor(200, 3, 100), 0);
+
+    // shapes are visible from their first keyframe, and change between keyframes
+    assertEquals(Arrays.asList(), model.getVisibleShapes(2));
+    assertEquals(Arrays.asList("Sanjana"), model.getVisibleShapes(3));
+    assertEquals(Arrays.asList("Sanjana"), model.getMovingShapes(3));
+    assertEquals(Arrays.asList("Sanjana"), model.getMovingShapes(10));
+    assertEquals(Arrays.asList(), model.getMovingShapes(11));
+    assertEquals(Arrays.asList(), model.getChangedShapes(10, 50));
+
+    model.removeKeyframe("Sanjana", 3);
+    assertEquals(Arrays.asList(), model.getVisibleShapes(3));
+    assertEquals(Arrays.asList("Sanjana"), model.getVisibleShapes(10));
+  }
+}
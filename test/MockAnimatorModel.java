@@ -1,8 +1,11 @@
+import cs3500.animator.model.Frame;
 import cs3500.animator.model.IKeyframeModel;
+import cs3500.animator.model.PlaybackCursor;
 import cs3500.animator.model.action.Action;
 import cs3500.animator.model.shapes.IColor;
 import cs3500.animator.model.shapes.IPosition;
 import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.ShapeState;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +51,23 @@ final class MockAnimatorModel implements IKeyframeModel {
     return null;
   }
 
+  @Override
+  public ShapeState shapeStateAt(String name, int tick) {
+    write("Shape state at " + name + " " + tick);
+    return null;
+  }
+
+  @Override
+  public void frameAt(int tick, Frame frame) {
+    write("Frame at " + tick);
+  }
+
+  @Override
+  public PlaybackCursor cursor() {
+    write("Cursor");
+    return null;
+  }
+
   @Override
   public List<IShape> getShapes() {
     return null;
@@ -103,6 +123,30 @@ final class MockAnimatorModel implements IKeyframeModel {
     return null;
   }
 
+  @Override
+  public List<ShapeState> getShapeActionStates(String shapeName) {
+    write("Get Shape Action States: " + shapeName);
+    return null;
+  }
+
+  @Override
+  public List<String> getVisibleShapes(int tick) {
+    write("Get Visible Shapes: " + tick);
+    return null;
+  }
+
+  @Override
+  public List<String> getMovingShapes(int tick) {
+    write("Get Moving Shapes: " + tick);
+    return null;
+  }
+
+  @Override
+  public List<String> getChangedShapes(int fromTick, int toTick) {
+    write("Get Changed Shapes: " + fromTick + " " + toTick);
+    return null;
+  }
+
   @Override
   public void removeShape(String shapeName) {
     write("Remove Shape: " + shapeName);
@@ -135,6 +179,12 @@ final class MockAnimatorModel implements IKeyframeModel {
     return new ArrayList<>();
   }
 
+  @Override
+  public List<String> getLayerShapes(String layerName) {
+    write("Get Layer Shapes " + layerName);
+    return new ArrayList<>();
+  }
+
   private void write(String message) {
     try {
       out.append(message + "\n");
@@ -61,12 +61,27 @@ final class MockAnimatorView implements IEditorView {
     return null;
   }
 
+  @Override
+  public void writeAnimationState(Appendable out) {
+    write("Write Animation State");
+  }
+
   @Override
   public String getSVG() {
     write("Get SVG");
     return null;
   }
 
+  @Override
+  public void writeSVG(Appendable out) {
+    write("Write SVG");
+  }
+
+  @Override
+  public void writeFrames() {
+    write("Write Frames");
+  }
+
   @Override
   public void setActionListener(ActionListener listener) {
     button.addActionListener(listener);
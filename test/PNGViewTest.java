@@ -0,0 +1,107 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.controller.BasicAnimatorControllerImpl;
+import cs3500.animator.model.AnimatorModel;
+import cs3500.animator.model.AnimatorModelImpl;
+import cs3500.animator.model.ReadOnlyAnimatorModel;
+import cs3500.animator.model.ReadOnlyAnimatorModelImpl;
+import cs3500.animator.view.AnimatorView;
+import cs3500.animator.view.PNGView;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Represents unit testing for {@link PNGView} implementation of {@link AnimatorView}.
+ */
+public class PNGViewTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private ReadOnlyAnimatorModel model;
+  private AnimatorView view;
+
+  @Before
+  public void init() {
+    AnimatorModel modelMutable = new AnimatorModelImpl.Builder()
+        .setBounds(0, 0, 40, 30)
+        .declareShape("back", "rectangle", "default")
+        .declareShape("front", "ellipse", "default")
+        .addMotion("back", 0, 0, 0, 40, 30, 255, 0, 0, 1, 0, 0, 40, 30, 255, 0, 0, 0, 0)
+        .addMotion("back", 1, 0, 0, 40, 30, 255, 0, 0, 12, 0, 0, 40, 30, 255, 0, 0, 0, 0)
+        .addMotion("front", 0, 0, 0, 10, 10, 0, 0, 255, 1, 0, 0, 10, 10, 0, 0, 255, 0, 0)
+        .addMotion("front", 1, 0, 0, 10, 10, 0, 0, 255, 12, 22, 0, 10, 10, 0, 0, 255, 0, 0)
+        .build();
+    model = new ReadOnlyAnimatorModelImpl(modelMutable);
+    view = new PNGView(model, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullModel() {
+    new PNGView(null, "frames");
+  }
+
+  @Test
+  public void writeFrames() throws IOException {
+    File directory = folder.newFolder("frames");
+    new PNGView(model, directory.getPath()).writeFrames();
+
+    assertEquals(13, directory.list().length);
+    assertTrue(new File(directory, "frame0000.png").exists());
+    assertTrue(new File(directory, "frame0012.png").exists());
+    assertFalse(new File(directory, "frame0013.png").exists());
+
+    // shapes are drawn in layer order over a white background
+    BufferedImage first = ImageIO.read(new File(directory, "frame0001.png"));
+    assertEquals(40, first.getWidth());
+    assertEquals(30, first.getHeight());
+    assertEquals(0x0000ff, first.getRGB(5, 5) & 0xffffff);
+    assertEquals(0xff0000, first.getRGB(30, 5) & 0xffffff);
+
+    BufferedImage last = ImageIO.read(new File(directory, "frame0012.png"));
+    assertEquals(0xff0000, last.getRGB(5, 5) & 0xffffff);
+    assertEquals(0x0000ff, last.getRGB(28, 5) & 0xffffff);
+  }
+
+  @Test
+  public void writeFramesWithPrefixThroughController() throws IOException {
+    File directory = folder.newFolder("prefixed");
+    String prefix = new File(directory, "toh-").getPath();
+    new BasicAnimatorControllerImpl(model, new PNGView(model, prefix), new StringBuilder()).run();
+    assertEquals(13, directory.list().length);
+    assertTrue(new File(directory, "toh-0007.png").exists());
+  }
+
+  @Test(expected = IOException.class)
+  public void writeFramesMissingDirectory() throws IOException {
+    new PNGView(model, new File(folder.getRoot(), "missing/frame").getPath()).writeFrames();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeSVG() throws IOException {
+    view.writeSVG(new StringBuilder());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeAnimationState() throws IOException {
+    view.writeAnimationState(new StringBuilder());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void makeVisible() {
+    view.makeVisible();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void play() {
+    view.play();
+  }
+}
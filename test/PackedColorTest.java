@@ -0,0 +1,28 @@
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.model.shapes.PackedColor;
+import org.junit.Test;
+
+/**
+ * Represents unit testing for the {@link PackedColor} helpers.
+ */
+public class PackedColorTest {
+
+  @Test
+  public void testPack() {
+    assertEquals(0x000000, PackedColor.pack(0, 0, 0));
+    assertEquals(0xFFFFFF, PackedColor.pack(255, 255, 255));
+    assertEquals(0x0A141E, PackedColor.pack(10, 20, 30));
+    assertEquals(0x0A141E, PackedColor.pack(10.9, 20.5, 30.1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPackTooLarge() {
+    PackedColor.pack(256, 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPackNegative() {
+    PackedColor.pack(0, -1, 0);
+  }
+}
@@ -0,0 +1,128 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.view.PlaybackClock;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Represents unit testing for the {@link PlaybackClock} class.
+ */
+public class PlaybackClockTest {
+
+  private static final long MILLIS = 1_000_000L;
+
+  private long now;
+  private PlaybackClock clock;
+
+  @Before
+  public void init() {
+    now = 5_000 * MILLIS;
+    clock = new PlaybackClock(10, 50) {
+      @Override
+      protected long nanoTime() {
+        return now;
+      }
+    };
+  }
+
+  @Test
+  public void testStoppedClockDoesNotMove() {
+    assertFalse(clock.isRunning());
+    now += 1_000 * MILLIS;
+    assertEquals(0, clock.position(), .0001);
+    assertEquals(0, clock.advance());
+  }
+
+  @Test
+  public void testAdvance() {
+    clock.start();
+    assertTrue(clock.isRunning());
+    now += 50 * MILLIS;
+    assertEquals(.5, clock.position(), .0001);
+    assertEquals(0, clock.advance());
+    now += 50 * MILLIS;
+    assertEquals(1, clock.advance());
+    assertEquals(0, clock.advance());
+    assertEquals(0, clock.getDroppedFrames());
+  }
+
+  @Test
+  public void testFraction() {
+    clock.start();
+    now += 125 * MILLIS;
+    assertEquals(1, clock.advance());
+    assertEquals(.25, clock.fraction(), .0001);
+    now += 200 * MILLIS;
+    assertEquals(1, clock.fraction(), .0001);
+  }
+
+  @Test
+  public void testSlowFramesAreDropped() {
+    clock.start();
+    now += 50 * MILLIS;
+    assertEquals(0, clock.advance());
+    assertEquals(0, clock.getDroppedFrames());
+
+    // drawing took three and a half frame periods, so two frames were missed
+    now += 175 * MILLIS;
+    assertEquals(2, clock.advance());
+    assertEquals(2, clock.getDroppedFrames());
+    now += 350 * MILLIS;
+    assertEquals(3, clock.advance());
+    assertEquals(8, clock.getDroppedFrames());
+  }
+
+  @Test
+  public void testStoppedClockDropsNoFrames() {
+    clock.start();
+    clock.stop();
+    now += 1_000 * MILLIS;
+    clock.advance();
+    clock.start();
+    now += 50 * MILLIS;
+    clock.advance();
+    assertEquals(0, clock.getDroppedFrames());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidFramePeriod() {
+    new PlaybackClock(10, 0);
+  }
+
+  @Test
+  public void testHighSpeeds() {
+    clock.setSpeed(-5000);
+    assertEquals(5000, clock.getSpeed());
+    clock.start();
+    now += 50 * MILLIS;
+    assertEquals(250, clock.advance());
+
+    // stepping many ticks every frame is not dropping frames while drawing keeps up
+    for (int i = 0; i < 100; i++) {
+      now += 50 * MILLIS;
+      assertEquals(250, clock.advance());
+    }
+    assertEquals(0, clock.getDroppedFrames());
+
+    now += 1_000 * MILLIS;
+    assertEquals(5000, clock.advance());
+    assertEquals(19, clock.getDroppedFrames());
+  }
+
+  @Test
+  public void testStopAndSpeedChangeKeepPosition() {
+    clock.start();
+    now += 150 * MILLIS;
+    clock.stop();
+    now += 1_000 * MILLIS;
+    assertEquals(1.5, clock.position(), .0001);
+
+    clock.start();
+    clock.setSpeed(20);
+    now += 25 * MILLIS;
+    assertEquals(2, clock.position(), .0001);
+    assertEquals(2, clock.advance());
+  }
+}
@@ -7,6 +7,8 @@ import cs3500.animator.model.ReadOnlyAnimatorModel;
 import cs3500.animator.model.ReadOnlyAnimatorModelImpl;
 import cs3500.animator.view.AnimatorView;
 import cs3500.animator.view.SVGView;
+import java.io.IOException;
+import java.io.StringWriter;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -42,6 +44,11 @@ public class SVGViewTest {
     String a = view.getAnimationState();
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeAnimationState() throws IOException {
+    view.writeAnimationState(new StringBuilder());
+  }
+
 
   @Test(expected = UnsupportedOperationException.class)
   public void makeVisible() {
@@ -85,6 +92,21 @@ public class SVGViewTest {
             + "</svg>", view.getSVG());
   }
 
+  @Test
+  public void writeSVG() throws IOException {
+    StringBuilder out = new StringBuilder();
+    view.writeSVG(out);
+    assertEquals(view.getSVG(), out.toString());
+  }
+
+  @Test
+  public void writeSVGThroughController() {
+    StringWriter out = new StringWriter();
+    new BasicAnimatorControllerImpl(
+        new ReadOnlyAnimatorModelImpl(new AnimatorModelImpl.Builder().build()), view, out).run();
+    assertEquals(view.getSVG(), out.toString());
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void setActionListener() {
     BasicAnimatorControllerImpl cont = new BasicAnimatorControllerImpl(
@@ -117,6 +139,11 @@ public class SVGViewTest {
     emptyView.rewind();
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeFrames() throws IOException {
+    emptyView.writeFrames();
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void restart() {
     emptyView.restart();
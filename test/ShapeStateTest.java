@@ -0,0 +1,83 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.shapes.Ellipse;
+import cs3500.animator.model.shapes.IShape;
+import cs3500.animator.model.shapes.Position;
+import cs3500.animator.model.shapes.RGBColor;
+import cs3500.animator.model.shapes.Rectangle;
+import cs3500.animator.model.shapes.ShapeState;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Represents unit testing for the {@link ShapeState} class.
+ */
+public class ShapeStateTest {
+
+  IShape rect;
+  ShapeState rectState;
+
+  @Before
+  public void init() {
+    rect = new Rectangle(10, 20, new Position(5, -5), new RGBColor(1, 2, 3), true, 45);
+    rectState = new ShapeState("rectangle", 5, -5, 10, 20, 1, 2, 3, 45, true);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullType() {
+    new ShapeState(null, 0, 0, 1, 1, 0, 0, 0, 0, true);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfNull() {
+    ShapeState.of(null);
+  }
+
+  @Test
+  public void testOf() {
+    assertEquals(rectState, ShapeState.of(rect));
+    assertEquals(5, rectState.getX(), .0001);
+    assertEquals(-5, rectState.getY(), .0001);
+    assertEquals(10, rectState.getWidth(), .0001);
+    assertEquals(20, rectState.getHeight(), .0001);
+    assertEquals(2, rectState.getGreen(), .0001);
+    assertEquals(45, rectState.getRotation());
+    assertTrue(rectState.getVisibility());
+  }
+
+  @Test
+  public void testToShape() {
+    assertEquals(rect, rectState.toShape());
+    IShape ellipse = new Ellipse(3, 4, new Position(1, 2), new RGBColor(9, 8, 7), false, 0);
+    assertEquals(ellipse, ShapeState.of(ellipse).toShape());
+    assertEquals("ellipse", ShapeState.of(ellipse).getType());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testToShapeUnknownType() {
+    new ShapeState("triangle", 0, 0, 1, 1, 0, 0, 0, 0, true).toShape();
+  }
+
+  @Test
+  public void testEquals() {
+    assertEquals(rectState, new ShapeState("rectangle", 5, -5, 10, 20, 1, 2, 3, 45, true));
+    assertEquals(rectState.hashCode(),
+        new ShapeState("rectangle", 5, -5, 10, 20, 1, 2, 3, 45, true).hashCode());
+    assertNotEquals(rectState, new ShapeState("ellipse", 5, -5, 10, 20, 1, 2, 3, 45, true));
+    assertNotEquals(rectState, new ShapeState("rectangle", 5, -5, 10, 20, 1, 2, 3, 0, true));
+    assertNotEquals(rectState, new ShapeState("rectangle", 5, -5, 10, 20, 1, 2, 3, 45, false));
+  }
+
+  @Test
+  public void testSamePositionAndColor() {
+    ShapeState moved = new ShapeState("rectangle", 6, -5, 10, 20, 1, 2, 3, 45, true);
+    assertFalse(rectState.samePosition(moved));
+    assertTrue(rectState.sameColor(moved));
+    ShapeState recolored = new ShapeState("rectangle", 5, -5, 10, 20, 1, 2, 4, 45, true);
+    assertTrue(rectState.samePosition(recolored));
+    assertFalse(rectState.sameColor(recolored));
+  }
+}
\ No newline at end of file
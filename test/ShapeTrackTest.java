@@ -0,0 +1,174 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.AnimatorModel;
+import cs3500.animator.model.AnimatorModelImpl;
+import cs3500.animator.model.Frame;
+import cs3500.animator.model.IKeyframeModel;
+import cs3500.animator.model.KeyframeModel;
+import cs3500.animator.model.PlaybackCursor;
+import cs3500.animator.model.action.Action;
+import cs3500.animator.model.shapes.Position;
+import cs3500.animator.model.shapes.RGBColor;
+import cs3500.animator.model.shapes.Rectangle;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Represents unit testing for the timeline each model keeps for a shape (ShapeTrack). The track is
+ * package private, so it is tested through the model and cursor operations that read it.
+ */
+public class ShapeTrackTest {
+
+  private AnimatorModel motions;
+  private IKeyframeModel keyframes;
+
+  @Before
+  public void init() {
+    motions = new AnimatorModelImpl();
+    motions.createShape("R",
+        new Rectangle(10, 10, new Position(0, 0), new RGBColor(0, 0, 0), true));
+    keyframes = new KeyframeModel();
+    keyframes.createShape("K",
+        new Rectangle(10, 10, new Position(0, 0), new RGBColor(0, 0, 0), false));
+  }
+
+  @Test
+  public void outOfOrderMotions() {
+    motions.addMotion("R", 10, 20, new Position(200, 0), 10, 10, new RGBColor(0, 0, 0));
+    motions.addMotion("R", 0, 10, new Position(100, 0), 10, 10, new RGBColor(0, 0, 0));
+    motions.addMotion("R", 5, 5, new Position(0, 0), 10, 10, new RGBColor(50, 0, 0));
+
+    // the motions are kept sorted by first tick, whatever order they were added in
+    List<Action> actions = motions.getShapeActions("R");
+    assertEquals(3, actions.size());
+    assertEquals(0, actions.get(0).getFirstTick());
+    assertEquals(5, actions.get(1).getFirstTick());
+    assertEquals(10, actions.get(2).getFirstTick());
+
+    // each motion starts from where the one before it ended
+    assertEquals(50, motions.shapeAt("R", 5).getCurrentPosition().getX(), .0001);
+    assertEquals(150, motions.shapeAt("R", 15).getCurrentPosition().getX(), .0001);
+    assertEquals(200, motions.shapeAt("R", 30).getCurrentPosition().getX(), .0001);
+    assertEquals(20, motions.getFinalTick());
+  }
+
+  @Test
+  public void outOfOrderKeyframes() {
+    keyframes.addKeyframe("K", 10, new Position(100, 0), 10, 10, new RGBColor(0, 0, 0), 0);
+    keyframes.addKeyframe("K", 0, new Position(0, 0), 10, 10, new RGBColor(0, 0, 0), 0);
+    keyframes.addKeyframe("K", 5, new Position(20, 0), 10, 10, new RGBColor(0, 0, 0), 0);
+
+    List<Action> actions = keyframes.getShapeActions("K");
+    assertEquals(3, actions.size());
+    assertEquals(0, actions.get(0).getFirstTick());
+    assertEquals(5, actions.get(1).getFirstTick());
+    assertEquals(10, actions.get(2).getFirstTick());
+
+    // the shape is tweened between the keyframes on either side of a tick
+    assertEquals(8, keyframes.shapeAt("K", 2).getCurrentPosition().getX(), .0001);
+    assertEquals(52, keyframes.shapeAt("K", 7).getCurrentPosition().getX(), .0001);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void overlappingMotionsChangingTheSameProperty() {
+    motions.addMotion("R", 0, 10, new Position(100, 0), 10, 10, new RGBColor(0, 0, 0));
+    motions.addMotion("R", 5, 15, new Position(0, 100), 10, 10, new RGBColor(0, 0, 0));
+  }
+
+  @Test
+  public void overlappingMotionsChangingOtherProperties() {
+    motions.addMotion("R", 0, 10, new Position(100, 0), 10, 10, new RGBColor(0, 0, 0));
+    motions.addMotion("R", 5, 15, new Position(0, 0), 10, 10, new RGBColor(200, 0, 0));
+    motions.addMotion("R", 10, 20, new Position(0, 0), 10, 10, new RGBColor(0, 0, 0));
+    assertEquals(3, motions.getShapeActions("R").size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void overlappingMotionsInBuilder() {
+    new AnimatorModelImpl.Builder()
+        .declareShape("R", "rectangle", "default")
+        .addMotion("R", 0, 0, 0, 10, 10, 0, 0, 0, 10, 100, 0, 10, 10, 0, 0, 0, 0, 0)
+        .addMotion("R", 5, 100, 0, 10, 10, 0, 0, 0, 15, 0, 100, 10, 10, 0, 0, 0, 0, 0)
+        .build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void keyframesAtTheSameTick() {
+    keyframes.addKeyframe("K", 3, new Position(0, 0), 10, 10, new RGBColor(0, 0, 0), 0);
+    keyframes.addKeyframe("K", 3, new Position(5, 0), 10, 10, new RGBColor(0, 0, 0), 0);
+  }
+
+  @Test
+  public void keyframeTruncation() {
+    keyframes.addKeyframe("K", 0, new Position(0, 0), 10, 10, new RGBColor(0, 0, 0), 0);
+    keyframes.addKeyframe("K", 3, new Position(10, 0), 20, 10, new RGBColor(0, 0, 0), 90);
+
+    // whole ticks truncate the tweened position, size change, and rotation
+    PlaybackCursor cursor = keyframes.cursor();
+    Frame frame = new Frame();
+    cursor.frameAt(1, frame);
+    assertEquals(3, frame.getX(0), .0001);
+    assertEquals(13, frame.getWidth(0), .0001);
+    assertEquals(30, frame.getRotation(0));
+    cursor.frameAt(1.0, frame);
+    assertEquals(3, frame.getX(0), .0001);
+
+    // points between ticks, and whole ticks drawn exactly, are not truncated
+    cursor.frameAt(1.6, frame);
+    assertEquals(5.3333, frame.getX(0), .0001);
+    assertEquals(15.3333, frame.getWidth(0), .0001);
+    cursor.exactFrameAt(1.0, frame);
+    assertEquals(3.3333, frame.getX(0), .0001);
+    assertEquals(13.3333, frame.getWidth(0), .0001);
+
+    // keyframes themselves are never truncated
+    cursor.frameAt(3, frame);
+    assertEquals(10, frame.getX(0), .0001);
+    assertEquals(20, frame.getWidth(0), .0001);
+  }
+
+  @Test
+  public void bounds() {
+    motions.addMotion("R", 0, 10, new Position(100, 0), 30, 30, new RGBColor(0, 0, 0));
+    PlaybackCursor cursor = motions.cursor();
+    Frame frame = new Frame();
+
+    // the shape is found anywhere it can be during its motions, at any tick
+    cursor.frameAt(0, frame, 105, 0, 2, 2);
+    assertEquals(1, frame.size());
+    cursor.frameAt(0, frame, 125, 25, 2, 2);
+    assertEquals(1, frame.size());
+    cursor.frameAt(0, frame, 135, 0, 2, 2);
+    assertEquals(0, frame.size());
+    cursor.frameAt(0, frame, 0, 35, 2, 2);
+    assertEquals(0, frame.size());
+  }
+
+  @Test
+  public void boundsOfRotatedShape() {
+    motions.createShape("T",
+        new Rectangle(40, 10, new Position(0, 0), new RGBColor(0, 0, 0), true, 90));
+    PlaybackCursor cursor = motions.cursor();
+    Frame frame = new Frame();
+
+    // a rotated shape may reach anywhere within a circle around its center
+    cursor.frameAt(0, frame, 18, 22, 2, 2);
+    assertTrue(names(frame).contains("T"));
+    cursor.frameAt(0, frame, 18, -14, 2, 2);
+    assertTrue(names(frame).contains("T"));
+    cursor.frameAt(0, frame, 18, 28, 2, 2);
+    assertFalse(names(frame).contains("T"));
+  }
+
+  // gets the names of the shapes in the frame, one after another
+  private static String names(Frame frame) {
+    StringBuilder names = new StringBuilder();
+    for (int i = 0; i < frame.size(); i++) {
+      names.append(frame.getName(i)).append(' ');
+    }
+    return names.toString();
+  }
+}
@@ -6,6 +6,7 @@ import cs3500.animator.model.ReadOnlyAnimatorModel;
 import cs3500.animator.model.ReadOnlyAnimatorModelImpl;
 import cs3500.animator.view.AnimatorView;
 import cs3500.animator.view.TextView;
+import java.io.IOException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -55,6 +56,31 @@ public class TextViewTest {
         view.getAnimationState());
   }
 
+  @Test
+  public void negativeAnimationState() {
+    AnimatorView negativeView = new TextView(new ReadOnlyAnimatorModelImpl(
+        new AnimatorModelImpl.Builder()
+            .setBounds(-10, -20, 100, 100)
+            .declareShape("longer shape name", "ellipse", "default")
+            .addMotion("longer shape name", 1, -5, -100, 20, 30, 0, 0, 0,
+                10, -12345, 7, 20, 30, 255, 255, 255, 0, 0).build()));
+    assertEquals(
+        "canvas -10 -20 100 100\n"
+            + "action   Name       t     X    Y    W    H    R    G    B    \t\t"
+            + " t     X    Y    W    H    R    G    B   \n"
+            + "shape    longer shape name ellipse\n"
+            + "motion   longer shape name 1     -5   -100 21   31   0    0    0    \t\t"
+            + " 10    -12345 7    20   30   255  255  255",
+        negativeView.getAnimationState());
+  }
+
+  @Test
+  public void writeAnimationState() throws IOException {
+    StringBuilder out = new StringBuilder();
+    view.writeAnimationState(out);
+    assertEquals(view.getAnimationState(), out.toString());
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void makeVisible() {
     emptyView.makeVisible();
@@ -76,6 +102,11 @@ public class TextViewTest {
     emptyView.getSVG();
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeSVG() throws IOException {
+    emptyView.writeSVG(new StringBuilder());
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void setActionListener() {
     BasicAnimatorControllerImpl cont = new BasicAnimatorControllerImpl(
@@ -108,6 +139,11 @@ public class TextViewTest {
     emptyView.rewind();
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeFrames() throws IOException {
+    emptyView.writeFrames();
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void restart() {
     emptyView.restart();
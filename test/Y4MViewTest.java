@@ -0,0 +1,188 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.controller.BasicAnimatorControllerImpl;
+import cs3500.animator.model.AnimatorModel;
+import cs3500.animator.model.AnimatorModelImpl;
+import cs3500.animator.model.PlaybackCursor;
+import cs3500.animator.model.ReadOnlyAnimatorModel;
+import cs3500.animator.model.ReadOnlyAnimatorModelImpl;
+import cs3500.animator.view.AnimatorView;
+import cs3500.animator.view.Y4MView;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Represents unit testing for {@link Y4MView} implementation of {@link AnimatorView}.
+ */
+public class Y4MViewTest {
+
+  private static final String HEADER = "YUV4MPEG2 W40 H30 F20:1 Ip A1:1 C420jpeg\n";
+
+  // the size of one frame: its header, a luma plane, and two quarter size chroma planes
+  private static final int FRAME_SIZE = "FRAME\n".length() + 40 * 30 * 3 / 2;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private ReadOnlyAnimatorModel model;
+  private AnimatorView view;
+
+  @Before
+  public void init() {
+    AnimatorModel modelMutable = new AnimatorModelImpl.Builder()
+        .setBounds(0, 0, 39, 29)
+        .declareShape("back", "rectangle", "default")
+        .declareShape("front", "ellipse", "default")
+        .addMotion("back", 0, 0, 0, 39, 29, 255, 0, 0, 1, 0, 0, 39, 29, 255, 0, 0, 0, 0)
+        .addMotion("back", 1, 0, 0, 39, 29, 255, 0, 0, 12, 0, 0, 39, 29, 255, 0, 0, 0, 0)
+        .addMotion("front", 0, 0, 0, 10, 10, 0, 0, 255, 1, 0, 0, 10, 10, 0, 0, 255, 0, 0)
+        .addMotion("front", 1, 0, 0, 10, 10, 0, 0, 255, 12, 22, 0, 10, 10, 0, 0, 255, 0, 0)
+        .build();
+    model = new ReadOnlyAnimatorModelImpl(modelMutable);
+    view = new Y4MView(model, 10, 20, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullModel() {
+    new Y4MView(null, 10, 20, "out.y4m");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidSpeed() {
+    new Y4MView(model, 0, 20, "out.y4m");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidFrameRate() {
+    new Y4MView(model, 10, -1, "out.y4m");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullOutputStream() throws IOException {
+    new Y4MView(model, 10, 20, null).writeVideo(null);
+  }
+
+  @Test
+  public void writeVideo() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new Y4MView(model, 10, 20, null).writeVideo(out);
+    byte[] video = out.toByteArray();
+
+    // the odd canvas is padded to an even size, and 13 ticks at 10 ticks per second last for 26
+    // frames at 20 frames per second
+    assertEquals(HEADER, new String(video, 0, HEADER.length(), StandardCharsets.US_ASCII));
+    assertEquals(HEADER.length() + 26 * FRAME_SIZE, video.length);
+    int frame = HEADER.length() + 2 * FRAME_SIZE;
+    assertEquals("FRAME\n", new String(video, frame, 6, StandardCharsets.US_ASCII));
+
+    // at tick 1, a blue ellipse is drawn over a red rectangle, and the padding is white
+    int luma = frame + 6;
+    assertEquals(41, video[luma + 5 * 40 + 5] & 0xff);
+    assertEquals(82, video[luma + 5 * 40 + 30] & 0xff);
+    assertEquals(235, video[luma + 5 * 40 + 39] & 0xff);
+    assertEquals(235, video[luma + 29 * 40 + 5] & 0xff);
+
+    // chroma is shared by each 2x2 block of pixels
+    int blue = luma + 40 * 30;
+    int red = blue + 20 * 15;
+    assertEquals(90, video[blue + 2 * 20 + 15] & 0xff);
+    assertEquals(240, video[red + 2 * 20 + 15] & 0xff);
+    assertEquals(240, video[blue + 2 * 20 + 2] & 0xff);
+    assertEquals(110, video[red + 2 * 20 + 2] & 0xff);
+
+    // frames between two ticks show the ellipse part of the way there
+    int between = HEADER.length() + 21 * FRAME_SIZE + 6;
+    assertTrue((video[between + 5 * 40 + 5] & 0xff) > 41);
+  }
+
+  @Test
+  public void writeFramesThroughController() throws IOException {
+    File file = new File(folder.getRoot(), "animation.y4m");
+    new BasicAnimatorControllerImpl(model, new Y4MView(model, 10, 20, file.getPath()),
+        new StringBuilder()).run();
+    assertEquals(HEADER.length() + 26 * FRAME_SIZE, Files.size(file.toPath()));
+  }
+
+  @Test(expected = IOException.class)
+  public void writeVideoFailingStream() throws IOException {
+    // the header is written, but every frame after it fails on the writer thread
+    new Y4MView(model, 10, 20, null).writeVideo(new OutputStream() {
+      private boolean header = true;
+
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Stream closed");
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        if (!header) {
+          throw new IOException("Stream closed");
+        }
+        header = false;
+      }
+    });
+  }
+
+  @Test
+  public void writeVideoFailingDrawingStopsWriter() throws IOException, InterruptedException {
+    ReadOnlyAnimatorModel failing = new ReadOnlyAnimatorModelImpl(
+        new AnimatorModelImpl.Builder().setBounds(0, 0, 40, 30).build()) {
+      @Override
+      public PlaybackCursor cursor() {
+        throw new IllegalStateException("Cannot read model");
+      }
+    };
+    try {
+      new Y4MView(failing, 10, 20, null).writeVideo(new ByteArrayOutputStream());
+      fail("Drawing should have failed");
+    } catch (IllegalStateException e) {
+      assertEquals("Cannot read model", e.getMessage());
+    }
+
+    // the writer thread is stopped rather than left waiting for frames
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().equals("y4m-writer")) {
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+      }
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void writeFramesMissingDirectory() throws IOException {
+    new Y4MView(model, 10, 20, new File(folder.getRoot(), "missing/out.y4m").getPath())
+        .writeFrames();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeSVG() throws IOException {
+    view.writeSVG(new StringBuilder());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeAnimationState() throws IOException {
+    view.writeAnimationState(new StringBuilder());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void makeVisible() {
+    view.makeVisible();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void play() {
+    view.play();
+  }
+}